@@ -0,0 +1,207 @@
+package com.mobabur94.datecalc;
+
+import android.support.annotation.NonNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+// every calculation made, as fixed size records in a ring of slots in a memory mapped file
+//
+// an append is a plain write into the mapping, the file is only forced to storage on a background thread a little
+// while later; every record gets an id that never changes and lives in slot id % capacity, so reading one back is a
+// single offset computation, and once every slot is taken the next record takes the oldest one's slot
+public final class CalculationHistory {
+
+    public static final int COMPARE = 1;
+    public static final int ADD = 2;
+
+    // flags stored next to the operation
+    public static final int BUSINESS = 1 << 2;
+    public static final int US_HOLIDAYS = 1 << 3;
+
+    // the workweek mask sits in the second byte of the flags
+    private static final int WORKWEEK_SHIFT = 8;
+
+    // header: magic, version, count, reserved, id of the first record (long), reserved up to 32 bytes
+    private static final int HEADER_SIZE = 32;
+    private static final int MAGIC = 0x44434831;
+    private static final int VERSION = 2;
+    private static final int COUNT_OFFSET = 8;
+    private static final int FIRST_ID_OFFSET = 16;
+
+    // record: flags, first day, second day, years, months, days, count, rules version
+    static final int RECORD_SIZE = 32;
+
+    // storage is forced this long after the first append that is not on storage yet
+    private static final long FORCE_DELAY_SECONDS = 2;
+
+    private final File file;
+    private final int capacity;
+
+    private final ScheduledExecutorService background = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+        @Override
+        public Thread newThread(@NonNull Runnable runnable) {
+            Thread thread = new Thread(runnable, "history");
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
+    private MappedByteBuffer buffer;
+    private int count;
+    private long firstId;
+    private boolean forceQueued;
+
+    // one record of the history, reused when reading so that scrolling does not allocate
+    public static final class Entry {
+        public int flags;
+
+        // compare: the start and end dates, add: the base date and the result
+        public int firstDay;
+        public int secondDay;
+
+        // compare: the resulting period, add: the amounts that were added
+        public int years;
+        public int months;
+        public int days;
+
+        // compare: the total days, or business days in business mode, add: unused
+        public int count;
+
+        // the version of the business rules it was calculated with
+        public int rulesVersion;
+
+        public int operation() {
+            return flags & 3;
+        }
+
+        public boolean isBusiness() {
+            return (flags & BUSINESS) != 0;
+        }
+
+        public int workweekMask() {
+            return (flags >>> WORKWEEK_SHIFT) & 0x7F;
+        }
+
+        public static int flags(int operation, boolean businessMode, boolean usHolidays, int workweekMask) {
+            return operation | ((businessMode) ? BUSINESS : 0) | ((usHolidays) ? US_HOLIDAYS : 0) | (workweekMask << WORKWEEK_SHIFT);
+        }
+    }
+
+    private CalculationHistory(File file, int capacity) {
+        this.file = file;
+        this.capacity = capacity;
+    }
+
+    // open or create the history file, which takes 32 bytes per record of capacity whether or not they are used
+    public static CalculationHistory open(File file, int capacity) throws IOException {
+        CalculationHistory history = new CalculationHistory(file, capacity);
+        history.map();
+        return history;
+    }
+
+    private void map() throws IOException {
+        long length = HEADER_SIZE + (long) capacity * RECORD_SIZE;
+        RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+        try {
+            boolean fresh = randomAccessFile.length() != length;
+            if (fresh) {
+                randomAccessFile.setLength(length);
+            }
+            buffer = randomAccessFile.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, length);
+
+            // start over on a file from another version or size, or one that was never finished
+            count = buffer.getInt(COUNT_OFFSET);
+            firstId = buffer.getLong(FIRST_ID_OFFSET);
+            if (fresh || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION || count < 0 || count > capacity || firstId < 0) {
+                count = 0;
+                firstId = 0;
+                buffer.putInt(0, MAGIC);
+                buffer.putInt(4, VERSION);
+                buffer.putInt(COUNT_OFFSET, 0);
+                buffer.putLong(FIRST_ID_OFFSET, 0);
+            }
+        } finally {
+            // the mapping stays valid after the file is closed
+            randomAccessFile.close();
+        }
+    }
+
+    // id of the oldest record still kept
+    public synchronized long firstId() {
+        return firstId;
+    }
+
+    // id the next record will get
+    public synchronized long nextId() {
+        return firstId + count;
+    }
+
+    // read a record by id, returning false if its slot was taken over already or it does not exist yet
+    public synchronized boolean read(long id, Entry entry) {
+        if (id < firstId || id >= firstId + count) {
+            return false;
+        }
+        int offset = offset(id);
+        entry.flags = buffer.getInt(offset);
+        entry.firstDay = buffer.getInt(offset + 4);
+        entry.secondDay = buffer.getInt(offset + 8);
+        entry.years = buffer.getInt(offset + 12);
+        entry.months = buffer.getInt(offset + 16);
+        entry.days = buffer.getInt(offset + 20);
+        entry.count = buffer.getInt(offset + 24);
+        entry.rulesVersion = buffer.getInt(offset + 28);
+        return true;
+    }
+
+    // add a record, taking the oldest one's slot once every slot is in use
+    public synchronized void record(Entry entry) {
+        long id = firstId + count;
+        int offset = offset(id);
+        buffer.putInt(offset, entry.flags);
+        buffer.putInt(offset + 4, entry.firstDay);
+        buffer.putInt(offset + 8, entry.secondDay);
+        buffer.putInt(offset + 12, entry.years);
+        buffer.putInt(offset + 16, entry.months);
+        buffer.putInt(offset + 20, entry.days);
+        buffer.putInt(offset + 24, entry.count);
+        buffer.putInt(offset + 28, entry.rulesVersion);
+
+        // the header goes last, so a record is only ever seen once it is complete, a crash before it only loses the
+        // new record, or the oldest one once the slots are all in use
+        if (count < capacity) {
+            count++;
+            buffer.putInt(COUNT_OFFSET, count);
+        } else {
+            firstId++;
+            buffer.putLong(FIRST_ID_OFFSET, firstId);
+        }
+
+        if (!forceQueued) {
+            forceQueued = true;
+            background.schedule(force, FORCE_DELAY_SECONDS, TimeUnit.SECONDS);
+        }
+    }
+
+    private int offset(long id) {
+        return HEADER_SIZE + (int) (id % capacity) * RECORD_SIZE;
+    }
+
+    private final Runnable force = new Runnable() {
+        @Override
+        public void run() {
+            synchronized (CalculationHistory.this) {
+                forceQueued = false;
+            }
+            buffer.force();
+        }
+    };
+
+}
@@ -0,0 +1,101 @@
+package com.mobabur94.datecalc;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+import android.support.annotation.NonNull;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+// runs calculations off the main thread where the newest request always wins
+//
+// requests that come in while one is running replace each other, so only the newest of them gets calculated, and a
+// result is only handed back if no newer request came in while it was being calculated; once a result stays the
+// newest for a moment the inputs have settled, which is when it is worth keeping
+public class CalculationScheduler {
+
+    // how long a published result has to stay the newest to count as settled
+    private static final long SETTLE_MILLIS = 1000;
+
+    // a calculation whose inputs were read on the main thread when it was made
+    public interface Calculation {
+        // runs on the background thread
+        CharSequence calculate();
+
+        // runs on the main thread, only with the result of the newest request
+        void publish(CharSequence result);
+
+        // runs on the main thread after publish(), if no newer request came in for SETTLE_MILLIS
+        void settled();
+    }
+
+    // one background thread is shared by every scheduler, calculations are short
+    private static final ExecutorService executor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+        @Override
+        public Thread newThread(@NonNull Runnable runnable) {
+            Thread thread = new Thread(runnable, "calculations");
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final AtomicLong latest = new AtomicLong();
+    private final AtomicReference<Request> pending = new AtomicReference<Request>();
+
+    // calculate the newest pending request, if it has not been picked up already
+    private final Runnable drain = new Runnable() {
+        @Override
+        public void run() {
+            Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+            final Request request = pending.getAndSet(null);
+            if (request == null || request.generation != latest.get()) {
+                return;
+            }
+
+            final CharSequence result = request.calculation.calculate();
+            handler.post(new Runnable() {
+                @Override
+                public void run() {
+                    // drop the result if a newer request came in while calculating
+                    if (request.generation == latest.get()) {
+                        request.calculation.publish(result);
+                        handler.postDelayed(new Runnable() {
+                            @Override
+                            public void run() {
+                                if (request.generation == latest.get()) {
+                                    request.calculation.settled();
+                                }
+                            }
+                        }, SETTLE_MILLIS);
+                    }
+                }
+            });
+        }
+    };
+
+    // call from the main thread
+    public void submit(Calculation calculation) {
+        Request request = new Request(calculation, latest.incrementAndGet());
+
+        // only queue the drain if there was nothing pending already, the drain always takes the newest request
+        if (pending.getAndSet(request) == null) {
+            executor.execute(drain);
+        }
+    }
+
+    private static class Request {
+        final Calculation calculation;
+        final long generation;
+
+        Request(Calculation calculation, long generation) {
+            this.calculation = calculation;
+            this.generation = generation;
+        }
+    }
+
+}
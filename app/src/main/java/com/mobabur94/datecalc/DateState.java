@@ -0,0 +1,87 @@
+package com.mobabur94.datecalc;
+
+import android.os.Bundle;
+import android.widget.Button;
+import android.widget.NumberPicker;
+
+// the dates and amounts of a page as plain ints, day numbers for the dates and -250 to +250 for the pickers
+//
+// the views only show the state: a date is formatted onto its button and an amount set on its picker when render() is
+// called and the value changed since it was last shown, and saving or restoring the state is a single int array
+public class DateState {
+
+    // the amounts pickers show their values 0 to 500 for -250 to +250
+    public static final int PICKER_OFFSET = 250;
+
+    // no view shows this, so the next render() writes to the view
+    private static final int NOT_SHOWN = Integer.MIN_VALUE;
+
+    private final String key;
+    private final int[] values;
+    private final int[] shown;
+    private final Object[] views;
+
+    public DateState(String key, int size) {
+        this.key = key;
+        values = new int[size];
+        shown = new int[size];
+        views = new Object[size];
+    }
+
+    public int get(int slot) {
+        return values[slot];
+    }
+
+    // change a value, the view follows on the next render()
+    public void set(int slot, int value) {
+        values[slot] = value;
+    }
+
+    // show a date on a button, for views that were just made
+    public void bindDate(int slot, Button button) {
+        views[slot] = button;
+        shown[slot] = NOT_SHOWN;
+    }
+
+    // show an amount on a picker, changes made on the picker come back through pickerChanged()
+    public void bindAmount(int slot, NumberPicker picker) {
+        views[slot] = picker;
+        shown[slot] = NOT_SHOWN;
+    }
+
+    // the picker already shows the new value, so only the state has to catch up
+    public void pickerChanged(int slot, int pickerValue) {
+        values[slot] = pickerValue - PICKER_OFFSET;
+        shown[slot] = values[slot];
+    }
+
+    // write the values that changed to their views
+    public void render() {
+        for (int slot = 0; slot < values.length; slot++) {
+            if (shown[slot] == values[slot] || views[slot] == null) {
+                continue;
+            }
+            if (views[slot] instanceof Button) {
+                ((Button) views[slot]).setText(MainActivity.DateCalcHelper.codec().format(values[slot]));
+            } else {
+                ((NumberPicker) views[slot]).setValue(values[slot] + PICKER_OFFSET);
+            }
+            shown[slot] = values[slot];
+        }
+    }
+
+    public void save(Bundle outState) {
+        outState.putIntArray(key, values);
+    }
+
+    // returns false if there was nothing saved, and the defaults should be used
+    public boolean restore(Bundle savedInstanceState) {
+        int[] saved = (savedInstanceState != null) ? savedInstanceState.getIntArray(key) : null;
+        if (saved == null || saved.length != values.length) {
+            return false;
+        }
+        System.arraycopy(saved, 0, values, 0, values.length);
+        return true;
+    }
+
+}
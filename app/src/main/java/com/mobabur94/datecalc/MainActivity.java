@@ -8,9 +8,10 @@ import android.app.DialogFragment;
 import android.app.Fragment;
 import android.app.FragmentManager;
 import android.content.DialogInterface;
+import android.content.Intent;
 import android.content.SharedPreferences;
+import android.graphics.Typeface;
 import android.os.Bundle;
-import android.support.annotation.NonNull;
 import android.support.v13.app.FragmentPagerAdapter;
 import android.support.v4.view.ViewPager;
 import android.text.Html;
@@ -20,18 +21,31 @@ import android.view.Menu;
 import android.view.MenuItem;
 import android.view.View;
 import android.view.ViewGroup;
+import android.widget.AdapterView;
+import android.widget.BaseAdapter;
 import android.widget.Button;
 import android.widget.DatePicker;
 import android.widget.LinearLayout;
+import android.widget.ListView;
 import android.widget.NumberPicker;
+import android.widget.ScrollView;
 import android.widget.TextView;
 import android.widget.Toast;
 
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
-import java.util.Calendar;
-import java.util.Date;
-import java.util.Locale;
+import com.mobabur94.datecalc.engine.BusinessRules;
+import com.mobabur94.datecalc.engine.DateCodec;
+import com.mobabur94.datecalc.engine.EpochDays;
+import com.mobabur94.datecalc.engine.HolidayCalendar;
+import com.mobabur94.datecalc.engine.HolidayCalendars;
+import com.mobabur94.datecalc.engine.IntervalSet;
+import com.mobabur94.datecalc.engine.Period;
+import com.mobabur94.datecalc.engine.PublishedRules;
+import com.mobabur94.datecalc.engine.Weekdays;
+import com.mobabur94.datecalc.engine.Workweek;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.TimeZone;
 
 public class MainActivity extends Activity implements ViewPager.OnPageChangeListener {
 
@@ -39,49 +53,174 @@ public class MainActivity extends Activity implements ViewPager.OnPageChangeList
     ViewPager viewPager;
     CompareModeFragment compareModeFragment;
     AddModeFragment addModeFragment;
-    private boolean businessMode;
+    private boolean usHolidays;
+    private Workweek workweek = Workweek.STANDARD;
+    private boolean settingsLoaded;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
+        StartupTrace.start();
+        StartupTrace.begin("MainActivity.onCreate");
         super.onCreate(savedInstanceState);
 
+        // load the settings in the background, everything starts out with the defaults until they are in
+        loadSettings();
+
         // set the layout
+        StartupTrace.begin("setContentView");
         setContentView(R.layout.activity_main);
+        StartupTrace.end();
 
-        // set up the pager adapter
+        // set up the pager adapter, the fragments attach themselves once the pager creates or restores them
         sectionsPagerAdapter = new SectionsPagerAdapter(getFragmentManager());
         viewPager = (ViewPager) findViewById(R.id.pager);
         viewPager.setAdapter(sectionsPagerAdapter);
         viewPager.setOnPageChangeListener(this);
 
-        // handle runtime configuration change and restore the fragments
+        // on a fresh start only the visible page is made before the first frame, after a configuration change both
+        // pages are needed right away since either one could be open
         if (savedInstanceState == null) {
-            compareModeFragment = (CompareModeFragment) sectionsPagerAdapter.getItem(0);
-            addModeFragment = (AddModeFragment) sectionsPagerAdapter.getItem(1);
+            StartupTrace.onFirstFrame(this, new Runnable() {
+                @Override
+                public void run() {
+                    sectionsPagerAdapter.showAllPages();
+                }
+            });
         } else {
-            compareModeFragment = (CompareModeFragment) getFragmentManager().getFragment(savedInstanceState, "compareModeFragment");
-            addModeFragment = (AddModeFragment) getFragmentManager().getFragment(savedInstanceState, "addModeFragment");
+            sectionsPagerAdapter.showAllPages();
         }
 
         // set the title based on what page is open
         setTitle((viewPager.getCurrentItem() == 1) ? R.string.title_add : R.string.title_compare);
+        StartupTrace.end();
+    }
 
-        // restore the business mode, with a default of false
-        SharedPreferences settings = getPreferences(MODE_PRIVATE);
-        businessMode = settings.getBoolean("business_mode", false);
+    // read the saved settings and anything they need off the main thread, then apply them on the main thread
+    private void loadSettings() {
+        new Thread(new Runnable() {
+            @Override
+            public void run() {
+                // the date text is needed by both fragments, so get it made while the layout is being inflated
+                DateCalcHelper.buildCodec();
+
+                // map the history file so calculations can be recorded
+                if (DateCalcHelper.history() == null) {
+                    DateCalcHelper.openHistory(getFilesDir());
+                }
+
+                // restore the business mode and the holiday setting, with a default of false
+                SharedPreferences settings = getPreferences(MODE_PRIVATE);
+                final boolean savedBusinessMode = settings.getBoolean("business_mode", false);
+                final boolean savedUsHolidays = settings.getBoolean("us_holidays", false);
 
-        // propagate the business mode
-        compareModeFragment.businessMode = businessMode;
-        addModeFragment.businessMode = businessMode;
+                // restore the working days of the week, with a default of monday to friday
+                final Workweek savedWorkweek = Workweek.of(settings.getInt("workweek", Workweek.MONDAY_TO_FRIDAY));
+                final HolidayCalendar savedHolidayCalendar = buildHolidayCalendar(savedUsHolidays, savedWorkweek);
+
+                runOnUiThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        onSettingsLoaded(savedBusinessMode, savedUsHolidays, savedWorkweek, savedHolidayCalendar);
+                    }
+                });
+            }
+        }, "settings").start();
     }
 
-    @Override
-    protected void onSaveInstanceState(@NonNull Bundle outState) {
-        super.onSaveInstanceState(outState);
+    private void onSettingsLoaded(boolean savedBusinessMode, boolean savedUsHolidays, Workweek savedWorkweek, HolidayCalendar savedHolidayCalendar) {
+        settingsLoaded = true;
+        invalidateOptionsMenu();
+
+        // nothing to redo if the saved settings are the defaults
+        if (savedBusinessMode == DateCalcHelper.rules().current().businessMode() && savedUsHolidays == usHolidays && savedWorkweek.equals(workweek)) {
+            return;
+        }
+        usHolidays = savedUsHolidays;
+        workweek = savedWorkweek;
+
+        // publish the business mode and the holidays to skip as one version, and recalculate whichever fragments exist
+        DateCalcHelper.setUsHolidays(savedUsHolidays);
+        DateCalcHelper.rules().publish(savedBusinessMode, savedHolidayCalendar);
+        if (compareModeFragment != null) {
+            compareModeFragment.calculateDifference();
+        }
+        if (addModeFragment != null) {
+            addModeFragment.updateNumberPickers();
+            addModeFragment.calculateAddition();
+        }
+    }
+
+    // called by the fragments when they attach, before they create their views, they read the business rules from
+    // DateCalcHelper.rules() themselves
+    void attach(CompareModeFragment fragment) {
+        compareModeFragment = fragment;
+    }
+
+    void attach(AddModeFragment fragment) {
+        addModeFragment = fragment;
+    }
+
+    private static HolidayCalendar buildHolidayCalendar(boolean usHolidays, Workweek workweek) {
+        if (usHolidays) {
+            return HolidayCalendars.unitedStatesFederal(1900, 2199, workweek);
+        }
+        return (workweek == Workweek.STANDARD) ? HolidayCalendar.NONE : new HolidayCalendar(new int[0], workweek);
+    }
+
+    // called by the history dialog to bring a calculation back, into the page of its mode
+    void recall(CalculationHistory.Entry entry) {
+        if (entry.operation() == CalculationHistory.COMPARE && compareModeFragment != null) {
+            viewPager.setCurrentItem(0);
+            compareModeFragment.recall(entry.firstDay, entry.secondDay);
+        } else if (entry.operation() == CalculationHistory.ADD && addModeFragment != null) {
+            viewPager.setCurrentItem(1);
+            addModeFragment.recall(entry.firstDay, entry.years, entry.months, entry.days);
+        }
+    }
+
+    // called by the weekend dialog with the new working days of the week
+    void setWorkweek(Workweek newWorkweek) {
+        if (newWorkweek.equals(workweek)) {
+            return;
+        }
+        workweek = newWorkweek;
+
+        // update the preferences so that the working days can be restored
+        SharedPreferences.Editor editor = getPreferences(MODE_PRIVATE).edit();
+        editor.putInt("workweek", workweek.mask());
+        editor.apply();
 
-        // save the fragments
-        getFragmentManager().putFragment(outState, "compareModeFragment", compareModeFragment);
-        getFragmentManager().putFragment(outState, "addModeFragment", addModeFragment);
+        // publish the new weekends and recalculate
+        updateHolidayCalendar();
+    }
+
+    // build the weekends and holidays for the current settings off the main thread, then publish them and recalculate
+    private void updateHolidayCalendar() {
+        final boolean builtUsHolidays = usHolidays;
+        final Workweek builtWorkweek = workweek;
+        new Thread(new Runnable() {
+            @Override
+            public void run() {
+                final HolidayCalendar holidayCalendar = buildHolidayCalendar(builtUsHolidays, builtWorkweek);
+                runOnUiThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        // a setting changed again while building, the build for that change publishes instead
+                        if (builtUsHolidays != usHolidays || !builtWorkweek.equals(workweek)) {
+                            return;
+                        }
+                        DateCalcHelper.setUsHolidays(builtUsHolidays);
+                        DateCalcHelper.rules().publishHolidayCalendar(holidayCalendar);
+                        if (compareModeFragment != null) {
+                            compareModeFragment.calculateDifference();
+                        }
+                        if (addModeFragment != null) {
+                            addModeFragment.calculateAddition();
+                        }
+                    }
+                });
+            }
+        }, "holidays").start();
     }
 
     @Override
@@ -89,8 +228,15 @@ public class MainActivity extends Activity implements ViewPager.OnPageChangeList
         // set the menu up
         getMenuInflater().inflate(R.menu.menu_main, menu);
 
-        // initialize the business mode checkbox
-        menu.findItem(R.id.action_business_mode).setChecked(businessMode);
+        // initialize the business mode and holiday checkboxes, they can be used once the saved settings are in
+        menu.findItem(R.id.action_business_mode).setChecked(DateCalcHelper.rules().current().businessMode()).setEnabled(settingsLoaded);
+        menu.findItem(R.id.action_us_holidays).setChecked(usHolidays).setEnabled(settingsLoaded);
+        menu.findItem(R.id.action_weekend).setEnabled(settingsLoaded);
+        menu.findItem(R.id.action_history).setEnabled(settingsLoaded);
+
+        // the metrics are only collected in debug builds, and can be switched off there
+        menu.findItem(R.id.action_metrics).setVisible(BuildConfig.DEBUG);
+        menu.findItem(R.id.action_collect_metrics).setVisible(BuildConfig.DEBUG).setChecked(Metrics.isEnabled());
 
         return true;
     }
@@ -100,8 +246,8 @@ public class MainActivity extends Activity implements ViewPager.OnPageChangeList
         int id = item.getItemId();
 
         if (id == R.id.action_business_mode) {
-            // toggle the business mode since it is a checkbox
-            businessMode = !businessMode;
+            // toggle the business mode since it is a checkbox, calculations already running keep the rules they started with
+            boolean businessMode = DateCalcHelper.rules().publishBusinessMode(!DateCalcHelper.rules().current().businessMode()).businessMode();
             item.setChecked(businessMode);
 
             // show a toast
@@ -112,19 +258,50 @@ public class MainActivity extends Activity implements ViewPager.OnPageChangeList
             editor.putBoolean("business_mode", businessMode);
             editor.apply();
 
-            // propagate the new business mode and recalculate the difference
-            compareModeFragment.businessMode = businessMode;
-            compareModeFragment.calculateDifference();
+            // recalculate the difference with the new business mode
+            if (compareModeFragment != null) {
+                compareModeFragment.calculateDifference();
+            }
 
-            // propagate the new business mode and recalculate the addition
-            addModeFragment.businessMode = businessMode;
-            addModeFragment.updateNumberPickers();
-            addModeFragment.calculateAddition();
+            // recalculate the addition with the new business mode
+            if (addModeFragment != null) {
+                addModeFragment.updateNumberPickers();
+                addModeFragment.calculateAddition();
+            }
+
+            return true;
+        } else if (id == R.id.action_us_holidays) {
+            // toggle the holidays since it is a checkbox
+            usHolidays = !usHolidays;
+            item.setChecked(usHolidays);
+
+            // show a toast
+            Toast.makeText(getApplicationContext(), (usHolidays) ? "Business mode skips US federal holidays" : "Business mode works through holidays", Toast.LENGTH_SHORT).show();
+
+            // update the preferences so that the holiday setting can be restored
+            SharedPreferences.Editor editor = getPreferences(MODE_PRIVATE).edit();
+            editor.putBoolean("us_holidays", usHolidays);
+            editor.apply();
+
+            // publish the new holidays and recalculate
+            updateHolidayCalendar();
+
+            return true;
+        } else if (id == R.id.action_weekend) {
+            // let the weekend be picked from the common ones
+            WeekendDialogFragment.newInstance(workweek.mask()).show(getFragmentManager(), "weekend_dialog");
+
+            return true;
+        } else if (id == R.id.action_history) {
+            // show the calculations made so far, newest first
+            if (DateCalcHelper.history() != null) {
+                new HistoryDialogFragment().show(getFragmentManager(), "history_dialog");
+            }
 
             return true;
         } else if (id == R.id.action_help) {
             // create a help message
-            String message = "There are two modes you can swipe left/right between:<br><br><b>1. Compare Mode</b><br><b>2. Add Mode</b><br><br>You can also change the type of calculation (business days or regular days) from the context menu.<br><br><br><br><b>Compare Mode:</b><br>Tap the buttons to change the date range.<br><br><b>Add Mode:</b><br>Tap the first button to change the base date. Swipe the number pickers up/down to change the amount of years, months, and days to add. You can subtract by specifying a negative number to add.";
+            String message = "There are two modes you can swipe left/right between:<br><br><b>1. Compare Mode</b><br><b>2. Add Mode</b><br><br>You can also change the type of calculation (business days or regular days) from the context menu, choose which days of the week are the weekend, and choose whether business days skip US federal holidays.<br><br><br><br><b>Compare Mode:</b><br>Tap the buttons to change the date range. Add Range adds the days from the first date through the second to a running total across many ranges, where overlapping ranges are only counted once, and Remove Range takes them back out.<br><br><b>Add Mode:</b><br>Tap the first button to change the base date. Swipe the number pickers up/down to change the amount of years, months, and days to add. You can subtract by specifying a negative number to add.";
 
             // create and show a dialog with the message
             DialogFragment alert = InfoDialogFragment.newInstance(message);
@@ -133,12 +310,23 @@ public class MainActivity extends Activity implements ViewPager.OnPageChangeList
             return true;
         } else if (id == R.id.action_about) {
             // create an about message
-            String message = "When using this date calculator, keep in mind that the calculations are based on there being 97 leap years every 400 years. That is, there are 365.2425 days in a year. This may result in a small error.";
+            String message = "When using this date calculator, keep in mind that the calculations follow the calendar exactly. Years and months are counted from the dates themselves, so leap years and the different lengths of months are always taken into account.";
 
             // create and show a dialog with the message
             DialogFragment alert = InfoDialogFragment.newInstance(message);
             alert.show(getFragmentManager(), "about_dialog");
 
+            return true;
+        } else if (id == R.id.action_metrics) {
+            // show the calculation metrics collected so far
+            new MetricsDialogFragment().show(getFragmentManager(), "metrics_dialog");
+
+            return true;
+        } else if (id == R.id.action_collect_metrics) {
+            // toggle the metrics since it is a checkbox, what was collected so far stays until it is reset
+            Metrics.setEnabled(!Metrics.isEnabled());
+            item.setChecked(Metrics.isEnabled());
+
             return true;
         }
         return super.onOptionsItemSelected(item);
@@ -194,25 +382,87 @@ public class MainActivity extends Activity implements ViewPager.OnPageChangeList
 
     }
 
-    // tiny date calculation helper
+    // tiny helper for today's day number and the date text shared by the fragments
     public static class DateCalcHelper {
 
-        public static long daysUntilSunday(Calendar calendar) {
-            long days = 0;
-            while (calendar.get(Calendar.DAY_OF_WEEK) != Calendar.SUNDAY) {
-                days++;
-                calendar.add(Calendar.DAY_OF_YEAR, 1);
+        // how many days before and after today have their text made ahead of time
+        private static final int CODEC_WINDOW = 3 * 366;
+
+        // records of 32 bytes, so the history file takes 4 MiB
+        private static final int HISTORY_CAPACITY = 128 * 1024;
+
+        // writes the same text as the cached codec, a day at a time, until that one is built
+        private static final DateCodec UNCACHED = new DateCodec(0, 0);
+
+        private static volatile DateCodec codec;
+        private static volatile CalculationHistory history;
+
+        // the user's holiday setting the published holidays were built with, for the history
+        private static volatile boolean usHolidays;
+
+        // business mode and the weekends and holidays it skips, the activity publishes a new version when a setting
+        // changes and each calculation reads the current one once
+        private static final PublishedRules rules = new PublishedRules(BusinessRules.DEFAULT);
+
+        // get today's day number in the local time zone
+        public static int today() {
+            long now = System.currentTimeMillis();
+            return (int) ((now + TimeZone.getDefault().getOffset(now)) / (1000 * 60 * 60 * 24));
+        }
+
+        // get the codec for the date text, which never waits for the cached one to be built
+        public static DateCodec codec() {
+            DateCodec built = codec;
+            return (built != null) ? built : UNCACHED;
+        }
+
+        // make the text of the days around today, on a background thread since it takes a while
+        public static void buildCodec() {
+            if (codec == null) {
+                codec = new DateCodec(today(), CODEC_WINDOW);
             }
-            return days;
         }
 
-        public static long daysFromSunday(Calendar calendar) {
-            long days = 0;
-            while (calendar.get(Calendar.DAY_OF_WEEK) != Calendar.SUNDAY) {
-                days++;
-                calendar.add(Calendar.DAY_OF_YEAR, -1);
+        // open the history file, calculations made before it is open are not recorded
+        public static void openHistory(File directory) {
+            try {
+                history = CalculationHistory.open(new File(directory, "history.bin"), HISTORY_CAPACITY);
+            } catch (IOException e) {
+                Log.d("openHistory", "io exception");
             }
-            return days;
+        }
+
+        // get the history, or null if it is not open
+        public static CalculationHistory history() {
+            return history;
+        }
+
+        public static PublishedRules rules() {
+            return rules;
+        }
+
+        // set right before publishing holidays built with the setting
+        public static void setUsHolidays(boolean on) {
+            usHolidays = on;
+        }
+
+        // add a calculation to the history with the rules it was made with, from any thread
+        public static void record(int operation, BusinessRules rules, int firstDay, int secondDay, int years, int months, int days, int count) {
+            CalculationHistory history = DateCalcHelper.history;
+            if (history == null) {
+                return;
+            }
+            HolidayCalendar holidayCalendar = rules.holidayCalendar();
+            CalculationHistory.Entry entry = new CalculationHistory.Entry();
+            entry.flags = CalculationHistory.Entry.flags(operation, rules.businessMode(), usHolidays, holidayCalendar.workweek().mask());
+            entry.rulesVersion = rules.version();
+            entry.firstDay = firstDay;
+            entry.secondDay = secondDay;
+            entry.years = years;
+            entry.months = months;
+            entry.days = days;
+            entry.count = count;
+            history.record(entry);
         }
 
     }
@@ -222,11 +472,20 @@ public class MainActivity extends Activity implements ViewPager.OnPageChangeList
 
         private AddModeFragment addModeFragment = null;
         private CompareModeFragment compareModeFragment = null;
+        private int pageCount = 1;
 
         public SectionsPagerAdapter(FragmentManager fm) {
             super(fm);
         }
 
+        // the add mode page is left out until this is called, so that it is not made before the first frame
+        public void showAllPages() {
+            if (pageCount != 2) {
+                pageCount = 2;
+                notifyDataSetChanged();
+            }
+        }
+
         @Override
         public Fragment getItem(int position) {
             if (position == 1) {
@@ -244,7 +503,7 @@ public class MainActivity extends Activity implements ViewPager.OnPageChangeList
 
         @Override
         public int getCount() {
-            return 2;
+            return pageCount;
         }
 
         @Override
@@ -266,7 +525,6 @@ public class MainActivity extends Activity implements ViewPager.OnPageChangeList
     // add mode fragment to handle adding amounts to dates
     public static class AddModeFragment extends Fragment implements View.OnClickListener, DatePickerDialogListener, NumberPicker.OnValueChangeListener {
 
-        private SimpleDateFormat sdf = new SimpleDateFormat("yyyy MMM dd [EEE]", Locale.US);
         private Button addBaseDate;
         LinearLayout addAmountLayoutYears;
         LinearLayout addAmountLayoutMonths;
@@ -275,10 +533,61 @@ public class MainActivity extends Activity implements ViewPager.OnPageChangeList
         private NumberPicker addAmountMonths;
         private NumberPicker addAmountDays;
         private TextView addResults;
-        public boolean businessMode;
+        private CalculationScheduler scheduler = new CalculationScheduler();
+
+        // the base date as a day number and the amounts to add, the button and pickers only show them
+        private static final int BASE_DAY = 0;
+        private static final int YEARS = 1;
+        private static final int MONTHS = 2;
+        private static final int DAYS = 3;
+        private final DateState state = new DateState("add", 4);
+
+        // the last addition that was calculated, only ever touched on the calculation thread
+        private HolidayCalendar lastHolidayCalendar;
+        private boolean lastBusinessMode;
+        private int lastBaseDay;
+        private int lastYears;
+        private int lastMonths;
+        private int lastDays;
+        private int lastResult;
+
+        // the labels for the amount pickers, -250 to +250, made once and shared by every add mode fragment
+        private static String[] pickerLabels;
+
+        private static String[] getPickerLabels() {
+            if (pickerLabels == null) {
+                // create an array of numbers ranging from -250 to +250
+                String[] numbers = new String[501];
+                for (int i = 0; i <= 500; i++) {
+                    numbers[i] = Integer.toString(i - 250);
+                }
+                pickerLabels = numbers;
+            }
+            return pickerLabels;
+        }
+
+        @Override
+        public void onAttach(Activity activity) {
+            super.onAttach(activity);
+
+            // let the activity know about this fragment
+            ((MainActivity) activity).attach(this);
+        }
+
+        @Override
+        public void onCreate(Bundle savedInstanceState) {
+            super.onCreate(savedInstanceState);
+
+            // restore the date and the amounts, or start from today with nothing added
+            if (!state.restore(savedInstanceState)) {
+                state.set(BASE_DAY, DateCalcHelper.today());
+            }
+        }
 
         @Override
         public View onCreateView(LayoutInflater inflater, ViewGroup container, Bundle savedInstanceState) {
+            StartupTrace.begin("AddModeFragment.onCreateView");
+
             // set the fragment layout
             View rootView = inflater.inflate(R.layout.fragment_add, container, false);
 
@@ -295,11 +604,8 @@ public class MainActivity extends Activity implements ViewPager.OnPageChangeList
             // set the button click listener
             addBaseDate.setOnClickListener(this);
 
-            // create an array of numbers ranging from -250 to +250
-            String[] numbers = new String[501];
-            for (int i = 0; i <= 500; i++) {
-                numbers[i] = Integer.toString(i - 250);
-            }
+            // get the shared labels for the pickers
+            String[] numbers = getPickerLabels();
 
             // set up the year amount picker
             addAmountYears.setMaxValue(500);
@@ -325,31 +631,12 @@ public class MainActivity extends Activity implements ViewPager.OnPageChangeList
             addAmountDays.setDescendantFocusability(ViewGroup.FOCUS_BLOCK_DESCENDANTS);
             addAmountDays.setOnValueChangedListener(this);
 
-            // handle runtime configuration change
-            if (savedInstanceState == null) {
-                // get a calendar and get rid of the time of day information
-                Calendar calendar = Calendar.getInstance();
-                calendar.set(Calendar.HOUR_OF_DAY, 0);
-                calendar.set(Calendar.MINUTE, 0);
-                calendar.set(Calendar.SECOND, 0);
-
-                // set the default date to today
-                String today = sdf.format(calendar.getTime());
-                addBaseDate.setText(today);
-
-                // set the default amounts to none
-                addAmountYears.setValue(250);
-                addAmountMonths.setValue(250);
-                addAmountDays.setValue(250);
-            } else {
-                // restore the date
-                addBaseDate.setText(savedInstanceState.getString("addBaseDate"));
-
-                // restore the amounts
-                addAmountYears.setValue(savedInstanceState.getInt("addAmountYears"));
-                addAmountMonths.setValue(savedInstanceState.getInt("addAmountMonths"));
-                addAmountDays.setValue(savedInstanceState.getInt("addAmountDays"));
-            }
+            // show the date and the amounts on the new views
+            state.bindDate(BASE_DAY, addBaseDate);
+            state.bindAmount(YEARS, addAmountYears);
+            state.bindAmount(MONTHS, addAmountMonths);
+            state.bindAmount(DAYS, addAmountDays);
+            state.render();
 
             // update the number pickers according to the business mode
             updateNumberPickers();
@@ -357,6 +644,7 @@ public class MainActivity extends Activity implements ViewPager.OnPageChangeList
             // calculate the addition
             calculateAddition();
 
+            StartupTrace.end();
             return rootView;
         }
 
@@ -365,10 +653,7 @@ public class MainActivity extends Activity implements ViewPager.OnPageChangeList
             super.onSaveInstanceState(outState);
 
             // save the date and the amounts
-            outState.putString("addBaseDate", (String) addBaseDate.getText());
-            outState.putInt("addAmountYears", addAmountYears.getValue());
-            outState.putInt("addAmountMonths", addAmountMonths.getValue());
-            outState.putInt("addAmountDays", addAmountDays.getValue());
+            state.save(outState);
         }
 
         @Override
@@ -376,26 +661,11 @@ public class MainActivity extends Activity implements ViewPager.OnPageChangeList
             int id = v.getId();
 
             if (id == R.id.add_base_date) {
-                // get a calendar and get rid of the time of day information
-                Calendar calendar = Calendar.getInstance();
-                calendar.set(Calendar.HOUR_OF_DAY, 0);
-                calendar.set(Calendar.MINUTE, 0);
-                calendar.set(Calendar.SECOND, 0);
-
-                // get the button's current date
-                String source = (String) addBaseDate.getText();
-
-                // parse the button's text into the calendar as a date
-                try {
-                    calendar.setTime(sdf.parse(source));
-                } catch (ParseException e) {
-                    Log.d("onClick", "parse exception");
-                }
-
-                // get the year month and day of the calendar with the parsed date
-                int year = calendar.get(Calendar.YEAR);
-                int month = calendar.get(Calendar.MONTH);
-                int day = calendar.get(Calendar.DAY_OF_MONTH);
+                // get the year month (0 to 11 for the picker) and day of the base date
+                int baseDay = state.get(BASE_DAY);
+                int year = EpochDays.year(baseDay);
+                int month = EpochDays.month(baseDay) - 1;
+                int day = EpochDays.dayOfMonth(baseDay);
 
                 // create and show a date picker fragment using the date information from the button
                 DatePickerFragment fragment = DatePickerFragment.newInstance(id, year, month, day);
@@ -406,21 +676,10 @@ public class MainActivity extends Activity implements ViewPager.OnPageChangeList
 
         @Override
         public void onDatePickerDialogDone(int id, int year, int month, int day) {
-            // get a calendar and get rid of the time of day information
-            Calendar calendar = Calendar.getInstance();
-            calendar.set(Calendar.HOUR_OF_DAY, 0);
-            calendar.set(Calendar.MINUTE, 0);
-            calendar.set(Calendar.SECOND, 0);
-
-            // set the year month and day to the chosen date
-            calendar.set(year, month, day);
-
-            // get a string for the chosen date
-            String newDateText = sdf.format(calendar.getTime());
-
-            // update the button's text to be the new chosen date
+            // update the base date to the chosen date, the picker's month is 0 to 11
             if (id == R.id.add_base_date) {
-                addBaseDate.setText(newDateText);
+                state.set(BASE_DAY, EpochDays.of(year, month + 1, day));
+                state.render();
             }
 
             // calculate the addition
@@ -429,11 +688,32 @@ public class MainActivity extends Activity implements ViewPager.OnPageChangeList
 
         @Override
         public void onValueChange(NumberPicker picker, int oldVal, int newVal) {
+            // the picker shows the new amount already, only the state has to follow
+            if (picker == addAmountYears) {
+                state.pickerChanged(YEARS, newVal);
+            } else if (picker == addAmountMonths) {
+                state.pickerChanged(MONTHS, newVal);
+            } else {
+                state.pickerChanged(DAYS, newVal);
+            }
+
             // calculate the addition
             calculateAddition();
         }
 
+        // put a calculation from the history back into the base date and the pickers
+        public void recall(int day, int years, int months, int days) {
+            state.set(BASE_DAY, day);
+            state.set(YEARS, Math.max(-DateState.PICKER_OFFSET, Math.min(DateState.PICKER_OFFSET, years)));
+            state.set(MONTHS, Math.max(-DateState.PICKER_OFFSET, Math.min(DateState.PICKER_OFFSET, months)));
+            state.set(DAYS, Math.max(-DateState.PICKER_OFFSET, Math.min(DateState.PICKER_OFFSET, days)));
+            state.render();
+            calculateAddition();
+        }
+
         public void updateNumberPickers() {
+            boolean businessMode = DateCalcHelper.rules().current().businessMode();
+
             // toggle the year and month pickers based on the business mode
             addAmountYears.setEnabled(!businessMode);
             addAmountMonths.setEnabled(!businessMode);
@@ -449,71 +729,127 @@ public class MainActivity extends Activity implements ViewPager.OnPageChangeList
         }
 
         public void calculateAddition() {
-            // get a calendar and get rid of the time of day information
-            Calendar calendar = Calendar.getInstance();
-            calendar.set(Calendar.HOUR_OF_DAY, 0);
-            calendar.set(Calendar.MINUTE, 0);
-            calendar.set(Calendar.SECOND, 0);
+            // read everything the calculation needs now, while on the main thread
+            final int baseDay = state.get(BASE_DAY);
+            final int amountYears = state.get(YEARS);
+            final int amountMonths = state.get(MONTHS);
+            final int amountDays = state.get(DAYS);
+            final BusinessRules rules = DateCalcHelper.rules().current();
+            final boolean businessMode = rules.businessMode();
+
+            // calculate in the background, a fling through the pickers only shows the newest result
+            scheduler.submit(new CalculationScheduler.Calculation() {
+                private int resultDay;
 
-            // try to set the calendar to the date from the button's text
-            try {
-                Date date = sdf.parse((String) addBaseDate.getText());
-                calendar.setTime(date);
-            } catch (ParseException e) {
-                Log.d("calculateAddition", "parse exception");
-            }
+                @Override
+                public CharSequence calculate() {
+                    long start = Metrics.start();
+                    resultDay = add(baseDay, amountYears, amountMonths, amountDays, businessMode, rules.holidayCalendar());
+                    String result = DateCalcHelper.codec().format(resultDay);
+                    Metrics.stop(Metrics.ADD, businessMode, start);
+                    return result;
+                }
 
-            // get the amount of years months and days to add
-            int amountYears = addAmountYears.getValue();
-            int amountMonths = addAmountMonths.getValue();
-            int amountDays = addAmountDays.getValue();
+                @Override
+                public void publish(CharSequence result) {
+                    // update the result text view with the results
+                    addResults.setText(result);
+                }
 
-            if (businessMode) {
-                // adjust the amount of days
-                int amount = amountDays - 250;
-
-                // keep adding or subtracting days, skipping weekends until the amount is satisfied
-                if (amount > 0) {
-                    while (amount > 0) {
-                        calendar.add(Calendar.DAY_OF_YEAR, 1);
-                        if (calendar.get(Calendar.DAY_OF_WEEK) != Calendar.SUNDAY && calendar.get(Calendar.DAY_OF_WEEK) != Calendar.SATURDAY) {
-                            amount--;
-                        }
-                    }
-                } else if (amount < 0) {
-                    while (amount < 0) {
-                        calendar.add(Calendar.DAY_OF_YEAR, -1);
-                        if (calendar.get(Calendar.DAY_OF_WEEK) != Calendar.SUNDAY && calendar.get(Calendar.DAY_OF_WEEK) != Calendar.SATURDAY) {
-                            amount++;
-                        }
+                @Override
+                public void settled() {
+                    // only the addition the pickers came to rest on goes into the history, business mode only adds the days
+                    if (businessMode) {
+                        DateCalcHelper.record(CalculationHistory.ADD, rules, baseDay, resultDay, 0, 0, amountDays, 0);
+                    } else {
+                        DateCalcHelper.record(CalculationHistory.ADD, rules, baseDay, resultDay, amountYears, amountMonths, amountDays, 0);
                     }
                 }
+            });
+        }
 
-                // update the result text view with the results
-                addResults.setText(sdf.format(calendar.getTime()));
+        // runs on the calculation thread, stepping the days by one only moves the last result instead of starting over
+        private int add(int baseDay, int years, int months, int days, boolean businessMode, HolidayCalendar holidayCalendar) {
+            // business mode ignores the years and months, so only the days have to match there
+            boolean sameBase = lastHolidayCalendar == holidayCalendar && lastBusinessMode == businessMode && lastBaseDay == baseDay
+                    && (businessMode || (lastYears == years && lastMonths == months));
+            int delta = days - lastDays;
+
+            int resultDay;
+            if (sameBase && (delta == 1 || delta == -1) && !(businessMode && days == 0)) {
+                // one more or one less day, or business day, from the last result, except for stepping back to 0 business
+                // days, which lands on the base date itself even when that is not a business day
+                resultDay = (businessMode) ? holidayCalendar.plus(lastResult, delta) : lastResult + delta;
+            } else if (businessMode) {
+                // jump straight to the day the amount of business days lands on, skipping weekends and holidays
+                resultDay = holidayCalendar.plus(baseDay, days);
             } else {
                 // add the adjusted amounts
-                calendar.add(Calendar.YEAR, amountYears - 250);
-                calendar.add(Calendar.MONTH, amountMonths - 250);
-                calendar.add(Calendar.DAY_OF_YEAR, amountDays - 250);
-
-                // update the result text view with the results
-                addResults.setText(sdf.format(calendar.getTime()));
+                resultDay = EpochDays.plus(baseDay, years, months, days);
             }
+
+            lastHolidayCalendar = holidayCalendar;
+            lastBusinessMode = businessMode;
+            lastBaseDay = baseDay;
+            lastYears = years;
+            lastMonths = months;
+            lastDays = days;
+            lastResult = resultDay;
+            return resultDay;
         }
     }
 
     // compare mode fragment to handle comparing dates
     public static class CompareModeFragment extends Fragment implements View.OnClickListener, DatePickerDialogListener {
 
-        private SimpleDateFormat sdf = new SimpleDateFormat("yyyy MMM dd [EEE]", Locale.US);
         private Button compareDate1;
         private Button compareDate2;
         private TextView compareResults;
-        public boolean businessMode;
+
+        // the dates as day numbers, the buttons only show them
+        private static final int FIRST_DAY = 0;
+        private static final int SECOND_DAY = 1;
+        private final DateState state = new DateState("compare", 2);
+
+        // the short names of the days of the week, MONDAY to SUNDAY
+        private static final String[] WEEKDAY_NAMES = {"Mon", "Tue", "Wed", "Thu", "Fri", "Sat", "Sun"};
+
+        // ranges of dates added up across many periods, on top of the two dates
+        private IntervalSet ranges;
+
+        @Override
+        public void onAttach(Activity activity) {
+            super.onAttach(activity);
+
+            // let the activity know about this fragment
+            ((MainActivity) activity).attach(this);
+        }
+
+        @Override
+        public void onCreate(Bundle savedInstanceState) {
+            super.onCreate(savedInstanceState);
+
+            // restore the dates, or start with both on today
+            if (!state.restore(savedInstanceState)) {
+                int today = DateCalcHelper.today();
+                state.set(FIRST_DAY, today);
+                state.set(SECOND_DAY, today);
+            }
+
+            // restore the ranges, saved as pairs of first and last days
+            ranges = new IntervalSet(DateCalcHelper.rules().current().holidayCalendar());
+            int[] saved = (savedInstanceState != null) ? savedInstanceState.getIntArray("compareRanges") : null;
+            if (saved != null) {
+                for (int i = 0; i + 1 < saved.length; i += 2) {
+                    ranges.add(saved[i], saved[i + 1]);
+                }
+            }
+        }
 
         @Override
         public View onCreateView(LayoutInflater inflater, ViewGroup container, Bundle savedInstanceState) {
+            StartupTrace.begin("CompareModeFragment.onCreateView");
+
             // set the fragment layout
             View rootView = inflater.inflate(R.layout.fragment_compare, container, false);
 
@@ -525,28 +861,19 @@ public class MainActivity extends Activity implements ViewPager.OnPageChangeList
             // set the button click listeners
             compareDate1.setOnClickListener(this);
             compareDate2.setOnClickListener(this);
+            rootView.findViewById(R.id.compare_add_range).setOnClickListener(this);
+            rootView.findViewById(R.id.compare_remove_range).setOnClickListener(this);
+            rootView.findViewById(R.id.compare_clear_ranges).setOnClickListener(this);
 
-            // handle runtime configuration change
-            if (savedInstanceState == null) {
-                // get a calendar and get rid of the time of day information
-                Calendar calendar = Calendar.getInstance();
-                calendar.set(Calendar.HOUR_OF_DAY, 0);
-                calendar.set(Calendar.MINUTE, 0);
-                calendar.set(Calendar.SECOND, 0);
-
-                // set the default dates to today
-                String today = sdf.format(calendar.getTime());
-                compareDate1.setText(today);
-                compareDate2.setText(today);
-            } else {
-                // restore the dates
-                compareDate1.setText(savedInstanceState.getString("compareDate1"));
-                compareDate2.setText(savedInstanceState.getString("compareDate2"));
-            }
+            // show the dates on the new buttons
+            state.bindDate(FIRST_DAY, compareDate1);
+            state.bindDate(SECOND_DAY, compareDate2);
+            state.render();
 
             // calculate the difference
             calculateDifference();
 
+            StartupTrace.end();
             return rootView;
         }
 
@@ -555,8 +882,15 @@ public class MainActivity extends Activity implements ViewPager.OnPageChangeList
             super.onSaveInstanceState(outState);
 
             // save the dates
-            outState.putString("compareDate1", (String) compareDate1.getText());
-            outState.putString("compareDate2", (String) compareDate2.getText());
+            state.save(outState);
+
+            // save the ranges as pairs of first and last days
+            int[] saved = new int[ranges.size() * 2];
+            for (int i = 0; i < ranges.size(); i++) {
+                saved[i * 2] = ranges.first(i);
+                saved[i * 2 + 1] = ranges.last(i);
+            }
+            outState.putIntArray("compareRanges", saved);
         }
 
         @Override
@@ -564,135 +898,310 @@ public class MainActivity extends Activity implements ViewPager.OnPageChangeList
             int id = v.getId();
 
             if (id == R.id.compare_date_1 || id == R.id.compare_date_2) {
-                // get a calendar and get rid of the time of day information
-                Calendar calendar = Calendar.getInstance();
-                calendar.set(Calendar.HOUR_OF_DAY, 0);
-                calendar.set(Calendar.MINUTE, 0);
-                calendar.set(Calendar.SECOND, 0);
-
-                // get the source date from the button text
-                String source;
-                if (id == R.id.compare_date_1) {
-                    source = (String) compareDate1.getText();
-                } else {
-                    source = (String) compareDate2.getText();
-                }
-
-                // parse the date into the calendar from the button text
-                try {
-                    calendar.setTime(sdf.parse(source));
-                } catch (ParseException e) {
-                    Log.d("onClick", "parse exception");
-                }
+                // get the date of the button that was tapped
+                int epochDay = state.get((id == R.id.compare_date_1) ? FIRST_DAY : SECOND_DAY);
 
-                // get the year month and day of the calendar with the parsed date
-                int year = calendar.get(Calendar.YEAR);
-                int month = calendar.get(Calendar.MONTH);
-                int day = calendar.get(Calendar.DAY_OF_MONTH);
+                // get the year month (0 to 11 for the picker) and day of the date
+                int year = EpochDays.year(epochDay);
+                int month = EpochDays.month(epochDay) - 1;
+                int day = EpochDays.dayOfMonth(epochDay);
 
                 // create and show a date picker fragment using the date information from the button
                 DatePickerFragment fragment = DatePickerFragment.newInstance(id, year, month, day);
                 fragment.setTargetFragment(this, 0);
                 fragment.show(getFragmentManager(), "compare_date_picker");
+            } else if (id == R.id.compare_add_range) {
+                // add the days between the two dates to the ranges, merging with any they overlap
+                ranges.add(state.get(FIRST_DAY), state.get(SECOND_DAY));
+                calculateDifference();
+            } else if (id == R.id.compare_remove_range) {
+                // take the days between the two dates out of the ranges
+                ranges.remove(state.get(FIRST_DAY), state.get(SECOND_DAY));
+                calculateDifference();
+            } else if (id == R.id.compare_clear_ranges) {
+                ranges.clear();
+                calculateDifference();
             }
         }
 
         @Override
         public void onDatePickerDialogDone(int id, int year, int month, int day) {
-            // get a calendar and get rid of the time of day information
-            Calendar calendar = Calendar.getInstance();
-            calendar.set(Calendar.HOUR_OF_DAY, 0);
-            calendar.set(Calendar.MINUTE, 0);
-            calendar.set(Calendar.SECOND, 0);
-
-            // set the year month and day to the chosen date
-            calendar.set(year, month, day);
-
-            // get a string for the chosen date
-            String newDateText = sdf.format(calendar.getTime());
-
-            // update the button's text to the new chosen date
+            // update the date to the chosen one, the picker's month is 0 to 11
             if (id == R.id.compare_date_1) {
-                compareDate1.setText(newDateText);
+                state.set(FIRST_DAY, EpochDays.of(year, month + 1, day));
             } else if (id == R.id.compare_date_2) {
-                compareDate2.setText(newDateText);
+                state.set(SECOND_DAY, EpochDays.of(year, month + 1, day));
             }
+            state.render();
 
-            // calculate the difference
+            // calculate the difference, and keep it since the user picked it
+            calculateDifference(true);
+        }
+
+        // put a calculation from the history back into the date buttons
+        public void recall(int day1, int day2) {
+            state.set(FIRST_DAY, day1);
+            state.set(SECOND_DAY, day2);
+            state.render();
             calculateDifference();
         }
 
+        // recalculate for the current dates, like after a setting changed or the view was made again
         public void calculateDifference() {
-            // get two calendars
-            Calendar calendar1 = Calendar.getInstance();
-            Calendar calendar2 = Calendar.getInstance();
+            calculateDifference(false);
+        }
 
-            // get rid of the first calendar's time of day information
-            calendar1.set(Calendar.HOUR_OF_DAY, 0);
-            calendar1.set(Calendar.MINUTE, 0);
-            calendar1.set(Calendar.SECOND, 0);
+        // only a difference the user asked for by picking a date goes into the history
+        private void calculateDifference(boolean record) {
+            long start = Metrics.start();
 
-            // get rid of the second calendar's time of day information
-            calendar2.set(Calendar.HOUR_OF_DAY, 0);
-            calendar2.set(Calendar.MINUTE, 0);
-            calendar2.set(Calendar.SECOND, 0);
+            // the business mode and holidays this calculation uses, whatever is published after this
+            BusinessRules rules = DateCalcHelper.rules().current();
+            HolidayCalendar holidayCalendar = rules.holidayCalendar();
 
-            // parse the dates into the calendars from the buttons' text
-            try {
-                Date date1 = sdf.parse((String) compareDate1.getText());
-                Date date2 = sdf.parse((String) compareDate2.getText());
+            // get the day numbers of the dates
+            int day1 = state.get(FIRST_DAY);
+            int day2 = state.get(SECOND_DAY);
 
-                calendar1.setTime(date1);
-                calendar2.setTime(date2);
+            // make sure the first day comes first
+            if (day2 < day1) {
+                int swap = day1;
+                day1 = day2;
+                day2 = swap;
+            }
 
-                if (calendar2.getTimeInMillis() < calendar1.getTimeInMillis()) {
-                    calendar1.setTime(date2);
-                    calendar2.setTime(date1);
-                }
-            } catch (ParseException e) {
-                Log.d("calculateDifference", "parse exception");
+            // count the ranges' business days again if the weekends or holidays changed
+            if (ranges.calendar() != holidayCalendar) {
+                ranges.setCalendar(holidayCalendar);
             }
 
-            if (businessMode) {
-                // get the two times
-                long time1 = calendar1.getTimeInMillis();
-                long time2 = calendar2.getTimeInMillis();
+            if (rules.businessMode()) {
+                // count the business days after the first date up to and including the second date
+                int days = holidayCalendar.between(day1, day2);
+                Metrics.stop(Metrics.COMPARE, true, start);
 
+                // update the result text view with the results
+                compareResults.setText(days + " business days" + ((ranges.size() > 0) ? "\n\n[" + ranges.size() + " ranges, " + ranges.businessDays() + " business days]" : "")
+                        + weekdaySummary(day1, day2, holidayCalendar));
+                if (record) {
+                    DateCalcHelper.record(CalculationHistory.COMPARE, rules, day1, day2, 0, 0, 0, days);
+                }
+            } else {
                 // get their total difference in days
-                long difference = Math.abs(time2 - time1);
-                long totalDays = difference / (1000 * 60 * 60 * 24);
+                int totalDays = EpochDays.daysBetween(day1, day2);
+
+                // get the exact amount of years, months, and days from the dates' fields
+                long period = Period.between(day1, day2);
+                Metrics.stop(Metrics.COMPARE, false, start);
 
-                // get the days until the first sunday, and the days from the last sunday
-                long preDays = DateCalcHelper.daysUntilSunday(calendar1);
-                long postDays = DateCalcHelper.daysFromSunday(calendar2);
+                // update the result text view with the results
+                compareResults.setText(Period.years(period) + " years\n" + Period.months(period) + " months\n" + Period.days(period) + " days\n\n[" + totalDays + " total days]"
+                        + ((ranges.size() > 0) ? "\n[" + ranges.size() + " ranges, " + ranges.days() + " days]" : "") + weekdaySummary(day1, day2, holidayCalendar));
+                if (record) {
+                    DateCalcHelper.record(CalculationHistory.COMPARE, rules, day1, day2, Period.years(period), Period.months(period), Period.days(period), totalDays);
+                }
+            }
+        }
 
-                // get the number of weeks between the first and last sundays
-                long weeks = (totalDays - preDays - postDays) / 7;
+        // how many of each day of the week come after the first date up to the second, and the last business day of
+        // the second date's month
+        private String weekdaySummary(int day1, int day2, HolidayCalendar holidayCalendar) {
+            StringBuilder summary = new StringBuilder("\n\n[");
+            for (int dayOfWeek = EpochDays.MONDAY; dayOfWeek <= EpochDays.SUNDAY; dayOfWeek++) {
+                if (dayOfWeek != EpochDays.MONDAY) {
+                    summary.append(", ");
+                }
+                summary.append(WEEKDAY_NAMES[dayOfWeek - 1]).append(' ').append(Weekdays.count(day1, day2, dayOfWeek));
+            }
+            int lastBusinessDay = Weekdays.lastBusinessDay(EpochDays.year(day2), EpochDays.month(day2), holidayCalendar);
+            summary.append("]\n[last business day of the month: ").append(DateCalcHelper.codec().format(lastBusinessDay)).append(']');
+            return summary.toString();
+        }
+    }
 
-                // calculate the days based on the number of weeks and the excess pre and post days
-                long days = Math.max(0, preDays - 2) + postDays + (weeks * 5);
+    // dialog listing the history newest first, tapping a calculation brings it back
+    public static class HistoryDialogFragment extends DialogFragment {
 
-                // update the result text view with the results
-                compareResults.setText(days + " business days");
-            } else {
-                // get the two times
-                long time1 = calendar1.getTimeInMillis();
-                long time2 = calendar2.getTimeInMillis();
+        @Override
+        public Dialog onCreateDialog(Bundle savedInstanceState) {
+            final CalculationHistory history = DateCalcHelper.history();
+            final DateCodec codec = DateCalcHelper.codec();
+
+            // restored before the settings thread opened the history, so there is nothing to list yet
+            if (history == null) {
+                return new AlertDialog.Builder(getActivity())
+                        .setTitle(R.string.action_history)
+                        .setMessage(R.string.history_loading)
+                        .setNeutralButton(R.string.close, null)
+                        .create();
+            }
 
-                // get their total difference in days based on an assumed amount of days in a year
-                long difference = Math.abs(time1 - time2);
-                double yearInDays = 365.2425;
-                double daysInMonth = yearInDays / 12;
-                long totalDays = difference / (1000 * 60 * 60 * 24);
+            // list the ids that exist now, rows are only read and formatted once they scroll into view
+            final long lastId = history.nextId() - 1;
+            final int size = (int) (lastId + 1 - history.firstId());
+            final CalculationHistory.Entry entry = new CalculationHistory.Entry();
 
-                // get assumed amount of years, months, and days
-                long years = (long) Math.floor(totalDays / yearInDays);
-                long months = (long) Math.floor((totalDays - (years * yearInDays)) / daysInMonth);
-                long days = (long) Math.floor(totalDays - (years * yearInDays) - (months * daysInMonth));
+            ListView list = new ListView(getActivity());
+            list.setFastScrollEnabled(true);
+            list.setAdapter(new BaseAdapter() {
+                @Override
+                public int getCount() {
+                    return size;
+                }
 
-                // update the result text view with the results
-                compareResults.setText(years + " years\n" + months + " months\n" + days + " days\n\n[" + totalDays + " total days]");
+                @Override
+                public Object getItem(int position) {
+                    return null;
+                }
+
+                @Override
+                public long getItemId(int position) {
+                    return lastId - position;
+                }
+
+                @Override
+                public View getView(int position, View convertView, ViewGroup parent) {
+                    TextView view = (convertView != null) ? (TextView) convertView : new TextView(getActivity());
+                    view.setPadding(24, 16, 24, 16);
+                    view.setText(describe(lastId - position));
+                    return view;
+                }
+
+                private String describe(long id) {
+                    if (!history.read(id, entry)) {
+                        // dropped by compaction while the dialog was open
+                        return "-";
+                    }
+                    if (entry.operation() == CalculationHistory.COMPARE) {
+                        if (entry.isBusiness()) {
+                            return codec.format(entry.firstDay) + " to " + codec.format(entry.secondDay) + "\n" + entry.count + " business days";
+                        }
+                        return codec.format(entry.firstDay) + " to " + codec.format(entry.secondDay) + "\n" + entry.years + " years " + entry.months + " months " + entry.days + " days [" + entry.count + " total days]";
+                    } else if (entry.isBusiness()) {
+                        return codec.format(entry.firstDay) + " + " + entry.days + " business days\n" + codec.format(entry.secondDay);
+                    }
+                    return codec.format(entry.firstDay) + " + " + entry.years + " years " + entry.months + " months " + entry.days + " days\n" + codec.format(entry.secondDay);
+                }
+            });
+            list.setOnItemClickListener(new AdapterView.OnItemClickListener() {
+                @Override
+                public void onItemClick(AdapterView<?> parent, View view, int position, long id) {
+                    CalculationHistory.Entry recalled = new CalculationHistory.Entry();
+                    if (history.read(id, recalled)) {
+                        ((MainActivity) getActivity()).recall(recalled);
+                    }
+                    dismiss();
+                }
+            });
+
+            // build a dialog with the list and a close button
+            AlertDialog.Builder builder = new AlertDialog.Builder(getActivity());
+            builder.setTitle(R.string.action_history);
+            builder.setView(list);
+            builder.setNeutralButton(R.string.close, new DialogInterface.OnClickListener() {
+                @Override
+                public void onClick(DialogInterface dialog, int which) { }
+            });
+
+            return builder.create();
+        }
+    }
+
+    // dialog to pick the weekend days that business mode skips
+    public static class WeekendDialogFragment extends DialogFragment {
+
+        // the working days for each of the choices in R.array.weekends, in the same order
+        private static final int[] WORKWEEKS = {
+                Workweek.MONDAY_TO_FRIDAY,
+                Workweek.SUNDAY_TO_THURSDAY,
+                Workweek.MONDAY_TO_SATURDAY,
+                Workweek.SATURDAY_TO_THURSDAY
+        };
+
+        public static WeekendDialogFragment newInstance(int mask) {
+            // create a new instance
+            WeekendDialogFragment dialog = new WeekendDialogFragment();
+
+            // create and attach a bundle with the current working days
+            Bundle args = new Bundle();
+            args.putInt("mask", mask);
+            dialog.setArguments(args);
+
+            return dialog;
+        }
+
+        @Override
+        public Dialog onCreateDialog(Bundle savedInstanceState) {
+            // check the choice that matches the current working days, if any does
+            int mask = getArguments().getInt("mask");
+            int checked = -1;
+            for (int i = 0; i < WORKWEEKS.length; i++) {
+                if (WORKWEEKS[i] == mask) {
+                    checked = i;
+                }
             }
+
+            // build a dialog with the choices that applies one as soon as it is tapped
+            AlertDialog.Builder builder = new AlertDialog.Builder(getActivity());
+            builder.setTitle(R.string.action_weekend);
+            builder.setSingleChoiceItems(R.array.weekends, checked, new DialogInterface.OnClickListener() {
+                @Override
+                public void onClick(DialogInterface dialog, int which) {
+                    ((MainActivity) getActivity()).setWorkweek(Workweek.of(WORKWEEKS[which]));
+                    dialog.dismiss();
+                }
+            });
+            builder.setNeutralButton(R.string.cancel, new DialogInterface.OnClickListener() {
+                @Override
+                public void onClick(DialogInterface dialog, int which) { }
+            });
+
+            return builder.create();
+        }
+    }
+
+    // debug dialog showing a snapshot of the calculation metrics, which can be shared as text or reset
+    public static class MetricsDialogFragment extends DialogFragment {
+
+        @Override
+        public Dialog onCreateDialog(Bundle savedInstanceState) {
+            final String snapshot = Metrics.snapshot();
+
+            // show the snapshot in a scrollable, selectable monospace text view
+            TextView view = new TextView(getActivity());
+            view.setText(snapshot);
+            view.setTypeface(Typeface.MONOSPACE);
+            view.setTextIsSelectable(true);
+            view.setPadding(24, 24, 24, 24);
+            ScrollView scrollView = new ScrollView(getActivity());
+            scrollView.addView(view);
+
+            // build a dialog with buttons to share the snapshot, reset the metrics, or close
+            AlertDialog.Builder builder = new AlertDialog.Builder(getActivity());
+            builder.setTitle(R.string.action_metrics);
+            builder.setView(scrollView);
+            builder.setPositiveButton(R.string.share, new DialogInterface.OnClickListener() {
+                @Override
+                public void onClick(DialogInterface dialog, int which) {
+                    Intent intent = new Intent(Intent.ACTION_SEND);
+                    intent.setType("text/plain");
+                    intent.putExtra(Intent.EXTRA_SUBJECT, "Date Calculator metrics");
+                    intent.putExtra(Intent.EXTRA_TEXT, snapshot);
+                    startActivity(Intent.createChooser(intent, getString(R.string.share)));
+                }
+            });
+            builder.setNegativeButton(R.string.reset, new DialogInterface.OnClickListener() {
+                @Override
+                public void onClick(DialogInterface dialog, int which) {
+                    Metrics.reset();
+                }
+            });
+            builder.setNeutralButton(R.string.close, new DialogInterface.OnClickListener() {
+                @Override
+                public void onClick(DialogInterface dialog, int which) { }
+            });
+
+            return builder.create();
         }
     }
 
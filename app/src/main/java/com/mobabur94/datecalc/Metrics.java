@@ -0,0 +1,131 @@
+package com.mobabur94.datecalc;
+
+import android.os.SystemClock;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// counts and times every calculation, per operation and per mode, without locking
+//
+// each series keeps a fixed set of latency buckets, so recording is a couple of atomic adds and a snapshot can be taken
+// at any time from any thread; when disabled, start() returns 0 and stop() returns right away
+public final class Metrics {
+
+    public static final int COMPARE = 0;
+    public static final int ADD = 1;
+
+    private static final String[] OPERATIONS = { "compare", "add" };
+    private static final String[] MODES = { "normal", "business" };
+    private static final int SERIES = OPERATIONS.length * MODES.length;
+
+    // upper bounds of the latency buckets in microseconds, anything slower lands in one last bucket
+    private static final long[] BOUNDS = { 1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000, 10000, 20000, 50000 };
+    private static final int BUCKETS = BOUNDS.length + 1;
+
+    private static volatile boolean enabled = BuildConfig.DEBUG;
+    private static volatile long since = SystemClock.elapsedRealtime();
+
+    private static final AtomicLongArray buckets = new AtomicLongArray(SERIES * BUCKETS);
+    private static final AtomicLongArray totalNanos = new AtomicLongArray(SERIES);
+    private static final AtomicLongArray maxNanos = new AtomicLongArray(SERIES);
+
+    private Metrics() { }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean on) {
+        enabled = on;
+    }
+
+    // call right before the calculation, and hand the result to stop()
+    public static long start() {
+        return (enabled) ? System.nanoTime() : 0;
+    }
+
+    public static void stop(int operation, boolean businessMode, long start) {
+        if (start == 0) {
+            return;
+        }
+        long nanos = System.nanoTime() - start;
+        int series = operation * MODES.length + ((businessMode) ? 1 : 0);
+
+        buckets.incrementAndGet(series * BUCKETS + bucket(nanos / 1000));
+        totalNanos.addAndGet(series, nanos);
+
+        // keep the slowest one seen
+        long max;
+        while (nanos > (max = maxNanos.get(series)) && !maxNanos.compareAndSet(series, max, nanos)) { }
+    }
+
+    private static int bucket(long micros) {
+        int i = 0;
+        while (i < BOUNDS.length && micros > BOUNDS[i]) {
+            i++;
+        }
+        return i;
+    }
+
+    public static void reset() {
+        for (int i = 0; i < buckets.length(); i++) {
+            buckets.set(i, 0);
+        }
+        for (int i = 0; i < SERIES; i++) {
+            totalNanos.set(i, 0);
+            maxNanos.set(i, 0);
+        }
+        since = SystemClock.elapsedRealtime();
+    }
+
+    // a plain text report of every series that has seen calculations since the last reset
+    public static String snapshot() {
+        double seconds = Math.max(1, SystemClock.elapsedRealtime() - since) / 1000.0;
+        StringBuilder text = new StringBuilder();
+        text.append(String.format(Locale.US, "metrics over %.1f s%s\n", seconds, (enabled) ? "" : " (disabled)"));
+
+        long[] counts = new long[BUCKETS];
+        for (int series = 0; series < SERIES; series++) {
+            long count = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] = buckets.get(series * BUCKETS + i);
+                count += counts[i];
+            }
+            if (count == 0) {
+                continue;
+            }
+
+            text.append('\n').append(OPERATIONS[series / MODES.length]).append(' ').append(MODES[series % MODES.length]).append('\n');
+            text.append(String.format(Locale.US, "  calls %d (%.1f/s)\n", count, count / seconds));
+            text.append(String.format(Locale.US, "  mean %.1f us, max %.1f us\n", totalNanos.get(series) / 1000.0 / count, maxNanos.get(series) / 1000.0));
+            text.append("  p50 ").append(percentile(counts, count, 0.50))
+                    .append(", p90 ").append(percentile(counts, count, 0.90))
+                    .append(", p99 ").append(percentile(counts, count, 0.99)).append('\n');
+
+            for (int i = 0; i < BUCKETS; i++) {
+                if (counts[i] != 0) {
+                    text.append("  ").append(label(i)).append(": ").append(counts[i]).append('\n');
+                }
+            }
+        }
+        return text.toString();
+    }
+
+    // the bucket the given fraction of calls falls into, which is as precise as fixed buckets can be
+    private static String percentile(long[] counts, long count, double fraction) {
+        long rank = (long) Math.ceil(count * fraction);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return label(i);
+            }
+        }
+        return label(BUCKETS - 1);
+    }
+
+    private static String label(int bucket) {
+        return (bucket < BOUNDS.length) ? "<= " + BOUNDS[bucket] + " us" : "> " + BOUNDS[BOUNDS.length - 1] + " us";
+    }
+
+}
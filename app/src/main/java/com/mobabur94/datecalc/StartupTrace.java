@@ -0,0 +1,60 @@
+package com.mobabur94.datecalc;
+
+import android.app.Activity;
+import android.os.Build;
+import android.os.SystemClock;
+import android.os.Trace;
+import android.util.Log;
+import android.view.View;
+import android.view.ViewTreeObserver;
+
+// marks the stages of a cold start for systrace and logs how long it took until the first frame was drawn
+//
+// capture with "systrace.py -a com.mobabur94.datecalc" to see the sections, or read the "StartupTrace" log
+public final class StartupTrace {
+
+    private static final String TAG = "StartupTrace";
+
+    private static long startTime;
+
+    private StartupTrace() { }
+
+    // call first thing in onCreate
+    public static void start() {
+        startTime = SystemClock.uptimeMillis();
+    }
+
+    // sections have to be ended on the same thread they were begun on, in the reverse order
+    public static void begin(String section) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR2) {
+            Trace.beginSection(section);
+        }
+    }
+
+    public static void end() {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR2) {
+            Trace.endSection();
+        }
+    }
+
+    // log the time to the first frame once it is about to be drawn, then run the given work right after that frame
+    public static void onFirstFrame(final Activity activity, final Runnable afterFirstFrame) {
+        final View decorView = activity.getWindow().getDecorView();
+        decorView.getViewTreeObserver().addOnPreDrawListener(new ViewTreeObserver.OnPreDrawListener() {
+            @Override
+            public boolean onPreDraw() {
+                decorView.getViewTreeObserver().removeOnPreDrawListener(this);
+                Log.i(TAG, "first frame after " + (SystemClock.uptimeMillis() - startTime) + " ms");
+
+                // let the system's own startup timing know as well
+                if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.KITKAT) {
+                    activity.reportFullyDrawn();
+                }
+
+                decorView.post(afterFirstFrame);
+                return true;
+            }
+        });
+    }
+
+}
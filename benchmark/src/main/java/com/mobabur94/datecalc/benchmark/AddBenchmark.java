@@ -0,0 +1,77 @@
+package com.mobabur94.datecalc.benchmark;
+
+import com.mobabur94.datecalc.engine.EpochDays;
+import com.mobabur94.datecalc.engine.HolidayCalendar;
+import com.mobabur94.datecalc.engine.HolidayCalendars;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Calendar;
+import java.util.concurrent.TimeUnit;
+
+// add mode: the original calendar loop against the engine
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AddBenchmark {
+
+    @Param({"true", "false"})
+    public boolean businessMode;
+
+    @Param({"false", "true"})
+    public boolean longRange;
+
+    private DateInputs inputs;
+    private int index;
+
+    // the calendars the app's business mode runs, without holidays by default and with the us federal ones when they
+    // are turned on
+    private final HolidayCalendar noHolidays = HolidayCalendar.NONE;
+    private final HolidayCalendar usHolidays = HolidayCalendars.unitedStatesFederal(1900, 2199);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        inputs = new DateInputs(longRange);
+    }
+
+    @Benchmark
+    public long calendar() {
+        int i = index++ & DateInputs.MASK;
+        Calendar calendar = CalendarReference.calendar(inputs.startYears[i], inputs.startMonths[i], inputs.startDaysOfMonth[i]);
+        return CalendarReference.add(calendar, businessMode, inputs.amountYears[i], inputs.amountMonths[i], inputs.amountDays[i]).getTimeInMillis();
+    }
+
+    @Benchmark
+    public int engine() {
+        int i = index++ & DateInputs.MASK;
+        if (businessMode) {
+            return noHolidays.plus(inputs.startDays[i], inputs.amountDays[i]);
+        }
+        return EpochDays.plus(inputs.startDays[i], inputs.amountYears[i], inputs.amountMonths[i], inputs.amountDays[i]);
+    }
+
+    // the same with the us federal holidays skipped as well, which the calendar loop has no counterpart for
+    @Benchmark
+    public int engineUsHolidays() {
+        int i = index++ & DateInputs.MASK;
+        if (businessMode) {
+            return usHolidays.plus(inputs.startDays[i], inputs.amountDays[i]);
+        }
+        return EpochDays.plus(inputs.startDays[i], inputs.amountYears[i], inputs.amountMonths[i], inputs.amountDays[i]);
+    }
+
+}
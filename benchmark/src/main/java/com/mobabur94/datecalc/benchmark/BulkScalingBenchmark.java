@@ -0,0 +1,87 @@
+package com.mobabur94.datecalc.benchmark;
+
+import com.mobabur94.datecalc.engine.EpochDays;
+import com.mobabur94.datecalc.engine.HolidayCalendar;
+import com.mobabur94.datecalc.server.BulkCalculations;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+// how the bulk calculations scale with the amount of worker threads, compare the scores across the threads parameter
+// on a machine with at least that many cores, since on fewer the extra threads only take turns (3 columns of 100M ints
+// take 1.2 GB, so this runs with a larger heap)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms3g", "-Xmx3g"})
+@State(Scope.Benchmark)
+public class BulkScalingBenchmark {
+
+    @Param({"1", "2", "4", "8", "16"})
+    public int threads;
+
+    @Param({"100000000"})
+    public int size;
+
+    @Param({"true", "false"})
+    public boolean businessMode;
+
+    private ForkJoinPool pool;
+    private BulkCalculations bulk;
+    private int[] startDays;
+    private int[] endDays;
+    private int[] amounts;
+    private int[] out;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        pool = new ForkJoinPool(threads);
+        bulk = new BulkCalculations(pool, HolidayCalendar.NONE);
+        startDays = new int[size];
+        endDays = new int[size];
+        amounts = new int[size];
+        out = new int[size];
+
+        Random random = new Random(42);
+        int first = EpochDays.of(1900, 1, 1);
+        for (int i = 0; i < size; i++) {
+            startDays[i] = first + random.nextInt(73000);
+            endDays[i] = first + random.nextInt(73000);
+            amounts[i] = random.nextInt(501) - 250;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public int[] daysBetween() {
+        bulk.daysBetween(startDays, endDays, out, businessMode);
+        return out;
+    }
+
+    @Benchmark
+    public int[] plusDays() {
+        bulk.plusDays(startDays, amounts, out, businessMode);
+        return out;
+    }
+
+}
@@ -0,0 +1,135 @@
+package com.mobabur94.datecalc.benchmark;
+
+import com.mobabur94.datecalc.engine.EpochDays;
+
+import java.util.Calendar;
+
+// the original calendar based calculations from the app, kept as they were so the engine can be measured against them
+public final class CalendarReference {
+
+    private CalendarReference() { }
+
+    // get a calendar at the start of a date, month is 0 to 11 like calendar
+    public static Calendar calendar(int year, int month, int day) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.set(Calendar.HOUR_OF_DAY, 0);
+        calendar.set(Calendar.MINUTE, 0);
+        calendar.set(Calendar.SECOND, 0);
+        calendar.set(year, month, day);
+        return calendar;
+    }
+
+    // a calendar the way the app got them from SimpleDateFormat.parse, at midnight with no milliseconds left over
+    public static Calendar parsed(int year, int month, int day) {
+        Calendar calendar = calendar(year, month, day);
+        calendar.set(Calendar.MILLISECOND, 0);
+        return calendar;
+    }
+
+    // the day number of the date a calendar is on, whatever its time of day
+    public static int epochDay(Calendar calendar) {
+        return EpochDays.of(calendar.get(Calendar.YEAR), calendar.get(Calendar.MONTH) + 1, calendar.get(Calendar.DAY_OF_MONTH));
+    }
+
+    // add mode, amounts are already adjusted so that 0 means nothing is added
+    public static Calendar add(Calendar calendar, boolean businessMode, int amountYears, int amountMonths, int amountDays) {
+        if (businessMode) {
+            int amount = amountDays;
+
+            // keep adding or subtracting days, skipping weekends until the amount is satisfied
+            if (amount > 0) {
+                while (amount > 0) {
+                    calendar.add(Calendar.DAY_OF_YEAR, 1);
+                    if (calendar.get(Calendar.DAY_OF_WEEK) != Calendar.SUNDAY && calendar.get(Calendar.DAY_OF_WEEK) != Calendar.SATURDAY) {
+                        amount--;
+                    }
+                }
+            } else if (amount < 0) {
+                while (amount < 0) {
+                    calendar.add(Calendar.DAY_OF_YEAR, -1);
+                    if (calendar.get(Calendar.DAY_OF_WEEK) != Calendar.SUNDAY && calendar.get(Calendar.DAY_OF_WEEK) != Calendar.SATURDAY) {
+                        amount++;
+                    }
+                }
+            }
+        } else {
+            // add the amounts
+            calendar.add(Calendar.YEAR, amountYears);
+            calendar.add(Calendar.MONTH, amountMonths);
+            calendar.add(Calendar.DAY_OF_YEAR, amountDays);
+        }
+        return calendar;
+    }
+
+    // the business branch of add() for every amount from 1 to steps at once, the loop stops the first time it reaches
+    // the amount so the day it is on then is the answer for that amount, days[n] gets the day number for n
+    public static void addEachBusinessDay(Calendar calendar, int direction, int steps, int[] days) {
+        int amount = 0;
+        while (amount < steps) {
+            calendar.add(Calendar.DAY_OF_YEAR, direction);
+            if (calendar.get(Calendar.DAY_OF_WEEK) != Calendar.SUNDAY && calendar.get(Calendar.DAY_OF_WEEK) != Calendar.SATURDAY) {
+                amount++;
+                days[amount] = epochDay(calendar);
+            }
+        }
+    }
+
+    // business compare mode, the calendars are ordered and get moved to the surrounding sundays
+    public static long businessDays(Calendar calendar1, Calendar calendar2) {
+        // get the two times
+        long time1 = calendar1.getTimeInMillis();
+        long time2 = calendar2.getTimeInMillis();
+
+        // get their total difference in days
+        long difference = Math.abs(time2 - time1);
+        long totalDays = difference / (1000 * 60 * 60 * 24);
+
+        // get the days until the first sunday, and the days from the last sunday
+        long preDays = daysUntilSunday(calendar1);
+        long postDays = daysFromSunday(calendar2);
+
+        // get the number of weeks between the first and last sundays
+        long weeks = (totalDays - preDays - postDays) / 7;
+
+        // calculate the days based on the number of weeks and the excess pre and post days
+        return Math.max(0, preDays - 2) + postDays + (weeks * 5);
+    }
+
+    // normal compare mode, fills in the assumed years, months, days and the total days
+    public static void yearsMonthsDays(Calendar calendar1, Calendar calendar2, long[] out) {
+        // get the two times
+        long time1 = calendar1.getTimeInMillis();
+        long time2 = calendar2.getTimeInMillis();
+
+        // get their total difference in days based on an assumed amount of days in a year
+        long difference = Math.abs(time1 - time2);
+        double yearInDays = 365.2425;
+        double daysInMonth = yearInDays / 12;
+        long totalDays = difference / (1000 * 60 * 60 * 24);
+
+        // get assumed amount of years, months, and days
+        out[0] = (long) Math.floor(totalDays / yearInDays);
+        out[1] = (long) Math.floor((totalDays - (out[0] * yearInDays)) / daysInMonth);
+        out[2] = (long) Math.floor(totalDays - (out[0] * yearInDays) - (out[1] * daysInMonth));
+        out[3] = totalDays;
+    }
+
+    public static long daysUntilSunday(Calendar calendar) {
+        long days = 0;
+        while (calendar.get(Calendar.DAY_OF_WEEK) != Calendar.SUNDAY) {
+            days++;
+            calendar.add(Calendar.DAY_OF_YEAR, 1);
+        }
+        return days;
+    }
+
+    public static long daysFromSunday(Calendar calendar) {
+        long days = 0;
+        while (calendar.get(Calendar.DAY_OF_WEEK) != Calendar.SUNDAY) {
+            days++;
+            calendar.add(Calendar.DAY_OF_YEAR, -1);
+        }
+        return days;
+    }
+
+}
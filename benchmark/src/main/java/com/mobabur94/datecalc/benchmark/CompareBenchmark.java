@@ -0,0 +1,93 @@
+package com.mobabur94.datecalc.benchmark;
+
+import com.mobabur94.datecalc.engine.EpochDays;
+import com.mobabur94.datecalc.engine.HolidayCalendar;
+import com.mobabur94.datecalc.engine.HolidayCalendars;
+import com.mobabur94.datecalc.engine.Period;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Calendar;
+import java.util.concurrent.TimeUnit;
+
+// compare mode: the original calendar math against the engine
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CompareBenchmark {
+
+    @Param({"true", "false"})
+    public boolean businessMode;
+
+    @Param({"false", "true"})
+    public boolean longRange;
+
+    private DateInputs inputs;
+    private final long[] out = new long[4];
+    private int index;
+
+    // the calendars the app's business mode runs, without holidays by default and with the us federal ones when they
+    // are turned on
+    private final HolidayCalendar noHolidays = HolidayCalendar.NONE;
+    private final HolidayCalendar usHolidays = HolidayCalendars.unitedStatesFederal(1900, 2199);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        inputs = new DateInputs(longRange);
+    }
+
+    @Benchmark
+    public long calendar() {
+        int i = index++ & DateInputs.MASK;
+        Calendar calendar1 = CalendarReference.calendar(inputs.startYears[i], inputs.startMonths[i], inputs.startDaysOfMonth[i]);
+        Calendar calendar2 = CalendarReference.calendar(inputs.endYears[i], inputs.endMonths[i], inputs.endDaysOfMonth[i]);
+        if (calendar2.getTimeInMillis() < calendar1.getTimeInMillis()) {
+            Calendar swap = calendar1;
+            calendar1 = calendar2;
+            calendar2 = swap;
+        }
+        if (businessMode) {
+            return CalendarReference.businessDays(calendar1, calendar2);
+        }
+        CalendarReference.yearsMonthsDays(calendar1, calendar2, out);
+        return out[0] + out[1] + out[2] + out[3];
+    }
+
+    @Benchmark
+    public long engine() {
+        int i = index++ & DateInputs.MASK;
+        int day1 = Math.min(inputs.startDays[i], inputs.endDays[i]);
+        int day2 = Math.max(inputs.startDays[i], inputs.endDays[i]);
+        if (businessMode) {
+            return noHolidays.between(day1, day2);
+        }
+        return Period.between(day1, day2) + EpochDays.daysBetween(day1, day2);
+    }
+
+    // the same with the us federal holidays skipped as well, which the calendar loop has no counterpart for
+    @Benchmark
+    public long engineUsHolidays() {
+        int i = index++ & DateInputs.MASK;
+        int day1 = Math.min(inputs.startDays[i], inputs.endDays[i]);
+        int day2 = Math.max(inputs.startDays[i], inputs.endDays[i]);
+        if (businessMode) {
+            return usHolidays.between(day1, day2);
+        }
+        return Period.between(day1, day2) + EpochDays.daysBetween(day1, day2);
+    }
+
+}
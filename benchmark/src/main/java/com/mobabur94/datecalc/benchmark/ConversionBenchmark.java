@@ -0,0 +1,101 @@
+package com.mobabur94.datecalc.benchmark;
+
+import com.mobabur94.datecalc.engine.EpochDays;
+import com.mobabur94.datecalc.engine.GregorianTables;
+import com.mobabur94.datecalc.engine.Period;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+// day number to year, month, day and day of the week and back: Calendar, LocalDate, the arithmetic and the tables
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ConversionBenchmark {
+
+    private static final long MILLIS_PER_DAY = 24L * 60 * 60 * 1000;
+
+    // a reused calendar in utc, which is the cheapest way the old code could have done it
+    private final Calendar calendar = new GregorianCalendar(TimeZone.getTimeZone("UTC"));
+    private DateInputs inputs;
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        inputs = new DateInputs(true);
+    }
+
+    @Benchmark
+    public int calendarToFields() {
+        int i = index++ & DateInputs.MASK;
+        calendar.setTimeInMillis(inputs.startDays[i] * MILLIS_PER_DAY);
+        return calendar.get(Calendar.YEAR) + calendar.get(Calendar.MONTH) + calendar.get(Calendar.DAY_OF_MONTH) + calendar.get(Calendar.DAY_OF_WEEK);
+    }
+
+    @Benchmark
+    public int localDateToFields() {
+        int i = index++ & DateInputs.MASK;
+        LocalDate date = LocalDate.ofEpochDay(inputs.startDays[i]);
+        return date.getYear() + date.getMonthValue() + date.getDayOfMonth() + date.getDayOfWeek().getValue();
+    }
+
+    @Benchmark
+    public int epochDaysToFields() {
+        int i = index++ & DateInputs.MASK;
+        int day = inputs.startDays[i];
+        return EpochDays.year(day) + EpochDays.month(day) + EpochDays.dayOfMonth(day) + EpochDays.dayOfWeek(day);
+    }
+
+    @Benchmark
+    public int tablesToFields() {
+        int i = index++ & DateInputs.MASK;
+        int day = inputs.startDays[i];
+        long fields = GregorianTables.fields(day);
+        return Period.years(fields) + Period.months(fields) + Period.days(fields) + GregorianTables.dayOfWeek(fields);
+    }
+
+    @Benchmark
+    public long calendarFromFields() {
+        int i = index++ & DateInputs.MASK;
+        calendar.clear();
+        calendar.set(inputs.startYears[i], inputs.startMonths[i], inputs.startDaysOfMonth[i]);
+        return calendar.getTimeInMillis() / MILLIS_PER_DAY;
+    }
+
+    @Benchmark
+    public long localDateFromFields() {
+        int i = index++ & DateInputs.MASK;
+        return LocalDate.of(inputs.startYears[i], inputs.startMonths[i] + 1, inputs.startDaysOfMonth[i]).toEpochDay();
+    }
+
+    @Benchmark
+    public int epochDaysFromFields() {
+        int i = index++ & DateInputs.MASK;
+        return EpochDays.of(inputs.startYears[i], inputs.startMonths[i] + 1, inputs.startDaysOfMonth[i]);
+    }
+
+    @Benchmark
+    public int tablesFromFields() {
+        int i = index++ & DateInputs.MASK;
+        return GregorianTables.of(inputs.startYears[i], inputs.startMonths[i] + 1, inputs.startDaysOfMonth[i]);
+    }
+
+}
@@ -0,0 +1,59 @@
+package com.mobabur94.datecalc.benchmark;
+
+import com.mobabur94.datecalc.engine.EpochDays;
+
+import java.util.Random;
+
+// fixed pseudo random dates and amounts shared by the benchmarks so that no two calls in a row see the same input
+final class DateInputs {
+
+    static final int SIZE = 1024;
+    static final int MASK = SIZE - 1;
+
+    // the pickers allow -250 to +250 for each of the years, months and days
+    static final int PICKER_RANGE = 250;
+
+    // the dates as day numbers and as calendar fields (month 0 to 11)
+    final int[] startDays = new int[SIZE];
+    final int[] endDays = new int[SIZE];
+    final int[] startYears = new int[SIZE];
+    final int[] startMonths = new int[SIZE];
+    final int[] startDaysOfMonth = new int[SIZE];
+    final int[] endYears = new int[SIZE];
+    final int[] endMonths = new int[SIZE];
+    final int[] endDaysOfMonth = new int[SIZE];
+
+    // the picker amounts, already adjusted so that 0 adds nothing
+    final int[] amountYears = new int[SIZE];
+    final int[] amountMonths = new int[SIZE];
+    final int[] amountDays = new int[SIZE];
+
+    // short ranges stay within a couple of weeks, long ones sit at the ends of the picker range or 250 years apart
+    DateInputs(boolean longRange) {
+        Random random = new Random(42);
+        int first = EpochDays.of(1900, 1, 1);
+        int last = EpochDays.of(2100, 12, 31);
+        for (int i = 0; i < SIZE; i++) {
+            int sign = random.nextBoolean() ? 1 : -1;
+            if (longRange) {
+                amountYears[i] = sign * (PICKER_RANGE - random.nextInt(10));
+                amountMonths[i] = -sign * (PICKER_RANGE - random.nextInt(10));
+                amountDays[i] = sign * (PICKER_RANGE - random.nextInt(10));
+            } else {
+                amountMonths[i] = random.nextInt(3) - 1;
+                amountDays[i] = random.nextInt(21) - 10;
+            }
+
+            startDays[i] = first + random.nextInt(last - first + 1);
+            endDays[i] = longRange ? startDays[i] + sign * (250 * 365 + random.nextInt(365)) : startDays[i] + random.nextInt(21) - 10;
+
+            startYears[i] = EpochDays.year(startDays[i]);
+            startMonths[i] = EpochDays.month(startDays[i]) - 1;
+            startDaysOfMonth[i] = EpochDays.dayOfMonth(startDays[i]);
+            endYears[i] = EpochDays.year(endDays[i]);
+            endMonths[i] = EpochDays.month(endDays[i]) - 1;
+            endDaysOfMonth[i] = EpochDays.dayOfMonth(endDays[i]);
+        }
+    }
+
+}
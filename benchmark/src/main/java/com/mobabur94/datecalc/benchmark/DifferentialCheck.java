@@ -0,0 +1,413 @@
+package com.mobabur94.datecalc.benchmark;
+
+import com.mobabur94.datecalc.engine.EpochDays;
+import com.mobabur94.datecalc.engine.HolidayCalendar;
+import com.mobabur94.datecalc.engine.Period;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.TimeZone;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// checks a candidate against the original calendar math for every start day in a window and every picker offset, in
+// both modes, split across the cores, then times the candidate on its own and fails if it is slower than the baseline
+// recorded on the same machine
+//
+// the calendar math is the spec except where it is known to be wrong, those differences are counted but do not fail:
+//  - saturday: business compare counts one day too many when the range ends on a saturday
+//  - dst: compare divides a difference in milliseconds by a day, so a range over a dst change can lose a day
+//  - approximation: normal compare assumes 365.2425 days a year, so the years, months and days are checked against
+//    java.time.Period instead and only the total days against the calendar
+public final class DifferentialCheck {
+
+    // what gets checked, on day numbers
+    public interface Candidate {
+
+        // add mode, years then months then days
+        int add(int startDay, int years, int months, int days);
+
+        // add mode in business mode
+        int addBusinessDays(int startDay, int amount);
+
+        // compare mode, packed like Period, the days are in order
+        long period(int startDay, int endDay);
+
+        // business compare mode, the days are in order
+        int businessDays(int startDay, int endDay);
+
+    }
+
+    // the app without holidays picked, which goes through the holiday calendar and not the workweek alone
+    public static final Candidate ENGINE = new Candidate() {
+        @Override
+        public int add(int startDay, int years, int months, int days) {
+            return EpochDays.plus(startDay, years, months, days);
+        }
+
+        @Override
+        public int addBusinessDays(int startDay, int amount) {
+            return HolidayCalendar.NONE.plus(startDay, amount);
+        }
+
+        @Override
+        public long period(int startDay, int endDay) {
+            return Period.between(startDay, endDay);
+        }
+
+        @Override
+        public int businessDays(int startDay, int endDay) {
+            return HolidayCalendar.NONE.between(startDay, endDay);
+        }
+    };
+
+    private static final String[] CHECKS = {"add", "add.business", "compare", "compare.business"};
+    private static final int ADD = 0;
+    private static final int ADD_BUSINESS = 1;
+    private static final int COMPARE = 2;
+    private static final int COMPARE_BUSINESS = 3;
+
+    private static final String[] DIVERGENCES = {"saturday", "dst", "approximation"};
+    private static final int SATURDAY = 0;
+    private static final int DST = 1;
+    private static final int APPROXIMATION = 2;
+
+    private static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
+
+    // start days handed to a worker at a time
+    private static final int BLOCK = 64;
+
+    // mismatches printed in full, the rest are only counted
+    private static final int EXAMPLES = 20;
+
+    private final Candidate candidate;
+    private final int firstDay;
+    private final int lastDay;
+    private final int range;
+
+    public DifferentialCheck(Candidate candidate, int firstDay, int lastDay, int range) {
+        this.candidate = candidate;
+        this.firstDay = firstDay;
+        this.lastDay = lastDay;
+        this.range = range;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Candidate candidate = ENGINE;
+        int firstDay = EpochDays.of(1900, 1, 1);
+        int lastDay = EpochDays.of(2100, 12, 31);
+        int range = DateInputs.PICKER_RANGE;
+        int threads = Runtime.getRuntime().availableProcessors();
+        File baseline = new File("differential-baseline.properties");
+        double tolerance = 0.2;
+        boolean record = false;
+        for (String arg : args) {
+            if (arg.startsWith("--candidate=")) {
+                candidate = (Candidate) Class.forName(arg.substring("--candidate=".length())).newInstance();
+            } else if (arg.startsWith("--from=")) {
+                firstDay = (int) LocalDate.parse(arg.substring("--from=".length())).toEpochDay();
+            } else if (arg.startsWith("--to=")) {
+                lastDay = (int) LocalDate.parse(arg.substring("--to=".length())).toEpochDay();
+            } else if (arg.startsWith("--range=")) {
+                range = Integer.parseInt(arg.substring("--range=".length()));
+            } else if (arg.startsWith("--threads=")) {
+                threads = Integer.parseInt(arg.substring("--threads=".length()));
+            } else if (arg.startsWith("--time-zone=")) {
+                TimeZone.setDefault(TimeZone.getTimeZone(arg.substring("--time-zone=".length())));
+            } else if (arg.startsWith("--baseline=")) {
+                baseline = new File(arg.substring("--baseline=".length()));
+            } else if (arg.startsWith("--tolerance=")) {
+                tolerance = Double.parseDouble(arg.substring("--tolerance=".length()));
+            } else if (arg.equals("--record")) {
+                record = true;
+            } else {
+                System.err.println("usage: DifferentialCheck [--candidate=<class>] [--from=1900-01-01] [--to=2100-12-31] [--range=250] [--threads=<cores>] "
+                        + "[--time-zone=<id>] [--baseline=differential-baseline.properties] [--tolerance=0.2] [--record]");
+                System.exit(2);
+            }
+        }
+
+        DifferentialCheck check = new DifferentialCheck(candidate, firstDay, lastDay, range);
+        String name = (candidate == ENGINE) ? "the engine" : candidate.getClass().getName();
+        System.out.println("checking " + name + " from " + LocalDate.ofEpochDay(firstDay) + " to " + LocalDate.ofEpochDay(lastDay)
+                + " with offsets up to " + range + " in " + TimeZone.getDefault().getID() + " on " + threads + " threads");
+        long start = System.nanoTime();
+        Tally tally = check.run(threads);
+        System.out.println(tally);
+        System.out.println("checked in " + (System.nanoTime() - start) / 1000000000 + " s");
+
+        double[] throughput = check.throughput();
+        boolean slower = false;
+        if (record) {
+            Properties properties = new Properties();
+            properties.setProperty("machine", machine());
+            properties.setProperty("window", check.window());
+            for (int i = 0; i < CHECKS.length; i++) {
+                properties.setProperty(CHECKS[i], String.format(Locale.ROOT, "%.1f", throughput[i]));
+            }
+            OutputStream output = new FileOutputStream(baseline);
+            try {
+                properties.store(output, "candidate million pairs per second on one thread, recorded with --record");
+            } finally {
+                output.close();
+            }
+            System.out.println("recorded the baseline in " + baseline);
+        } else if (baseline.exists()) {
+            Properties properties = new Properties();
+            InputStream input = new FileInputStream(baseline);
+            try {
+                properties.load(input);
+            } finally {
+                input.close();
+            }
+
+            // the throughput of another machine says nothing about this one, and a small window is over before the jit is
+            // done with it, so only the same machine and window are comparable
+            boolean comparable = machine().equals(properties.getProperty("machine"))
+                    && check.window().equals(properties.getProperty("window"));
+            for (int i = 0; i < CHECKS.length && comparable; i++) {
+                double expected = Double.parseDouble(properties.getProperty(CHECKS[i], "0"));
+                if (throughput[i] < expected * (1 - tolerance)) {
+                    System.out.println(String.format(Locale.ROOT, "%s is slower than the baseline: %.1f against %.1f million pairs per second",
+                            CHECKS[i], throughput[i], expected));
+                    slower = true;
+                }
+            }
+            if (!machine().equals(properties.getProperty("machine"))) {
+                System.out.println("the baseline in " + baseline + " is for " + properties.getProperty("machine") + ", not " + machine()
+                        + ", not comparing the throughput, record one for this machine with --record");
+            } else if (!check.window().equals(properties.getProperty("window"))) {
+                System.out.println("the baseline is for " + properties.getProperty("window") + ", not comparing the throughput");
+            }
+        } else {
+            System.out.println("no baseline in " + baseline + ", record one with --record");
+        }
+
+        if (tally.mismatches() > 0 || slower) {
+            System.exit(1);
+        }
+    }
+
+    // the machine a baseline was recorded on, the cores are in it because they tell one box from another even though
+    // the throughput is timed on one thread
+    public static String machine() {
+        return Runtime.getRuntime().availableProcessors() + " cores " + System.getProperty("os.arch") + " "
+                + System.getProperty("java.vm.name") + " " + System.getProperty("java.version");
+    }
+
+    // the start days and offsets checked, which is what a baseline was recorded over
+    public String window() {
+        return LocalDate.ofEpochDay(firstDay) + ".." + LocalDate.ofEpochDay(lastDay) + " +-" + range;
+    }
+
+    // check every start day against every offset, the start days are shared out in blocks
+    public Tally run(int threads) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Tally>> blocks = new ArrayList<Future<Tally>>();
+            for (int from = firstDay; from <= lastDay; from += BLOCK) {
+                final int blockStart = from;
+                final int blockEnd = (int) Math.min((long) from + BLOCK - 1, lastDay);
+                blocks.add(executor.submit(() -> check(blockStart, blockEnd)));
+            }
+
+            Tally total = new Tally();
+            for (Future<Tally> block : blocks) {
+                total.merge(block.get());
+            }
+            return total;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    // million candidate calls per second for each check on one thread, the best of a few rounds over the same pairs
+    public double[] throughput() {
+        double[] best = new double[CHECKS.length];
+        long sink = 0;
+        for (int round = 0; round < 5; round++) {
+            for (int check = 0; check < CHECKS.length; check++) {
+                long pairs = 0;
+                long start = System.nanoTime();
+                for (int day = firstDay; day <= lastDay; day++) {
+                    for (int offset = -range; offset <= range; offset++) {
+                        if (check == ADD) {
+                            sink += candidate.add(day, offset, 0, 0) + candidate.add(day, 0, offset, 0) + candidate.add(day, 0, 0, offset);
+                            pairs += 3;
+                        } else if (check == ADD_BUSINESS) {
+                            sink += candidate.addBusinessDays(day, offset);
+                            pairs++;
+                        } else if (check == COMPARE) {
+                            sink += candidate.period(Math.min(day, day + offset), Math.max(day, day + offset));
+                            pairs++;
+                        } else {
+                            sink += candidate.businessDays(Math.min(day, day + offset), Math.max(day, day + offset));
+                            pairs++;
+                        }
+                    }
+                }
+                best[check] = Math.max(best[check], pairs * 1000.0 / (System.nanoTime() - start));
+            }
+        }
+
+        for (int check = 0; check < CHECKS.length; check++) {
+            System.out.println(String.format(Locale.ROOT, "%-18s %8.1f million pairs per second", CHECKS[check], best[check]));
+        }
+        if (sink == 42) {
+            System.out.println();
+        }
+        return best;
+    }
+
+    private Tally check(int blockStart, int blockEnd) {
+        Tally tally = new Tally();
+        int[] forwards = new int[range + 1];
+        int[] backwards = new int[range + 1];
+        long[] out = new long[4];
+        for (int day = blockStart; day <= blockEnd; day++) {
+            int year = EpochDays.year(day);
+            int month = EpochDays.month(day) - 1;
+            int dayOfMonth = EpochDays.dayOfMonth(day);
+
+            // one walk each way gives the reference for every business day amount
+            CalendarReference.addEachBusinessDay(CalendarReference.parsed(year, month, dayOfMonth), 1, range, forwards);
+            CalendarReference.addEachBusinessDay(CalendarReference.parsed(year, month, dayOfMonth), -1, range, backwards);
+
+            for (int offset = -range; offset <= range; offset++) {
+                // each picker on its own, then all three together
+                checkAdd(tally, day, year, month, dayOfMonth, offset, 0, 0);
+                checkAdd(tally, day, year, month, dayOfMonth, 0, offset, 0);
+                checkAdd(tally, day, year, month, dayOfMonth, 0, 0, offset);
+                checkAdd(tally, day, year, month, dayOfMonth, offset, -offset, offset);
+
+                int expected = (offset > 0) ? forwards[offset] : (offset < 0) ? backwards[-offset] : day;
+                int actual = candidate.addBusinessDays(day, offset);
+                tally.checked[ADD_BUSINESS]++;
+                if (actual != expected) {
+                    tally.mismatch(ADD_BUSINESS, "add " + offset + " business days to " + LocalDate.ofEpochDay(day) + ": "
+                            + LocalDate.ofEpochDay(actual) + " instead of " + LocalDate.ofEpochDay(expected));
+                }
+
+                checkCompare(tally, Math.min(day, day + offset), Math.max(day, day + offset), out);
+            }
+        }
+        return tally;
+    }
+
+    private void checkAdd(Tally tally, int day, int year, int month, int dayOfMonth, int years, int months, int days) {
+        Calendar calendar = CalendarReference.add(CalendarReference.parsed(year, month, dayOfMonth), false, years, months, days);
+        int expected = CalendarReference.epochDay(calendar);
+        int actual = candidate.add(day, years, months, days);
+        tally.checked[ADD]++;
+        if (actual != expected) {
+            tally.mismatch(ADD, "add " + years + "y " + months + "m " + days + "d to " + LocalDate.ofEpochDay(day) + ": "
+                    + LocalDate.ofEpochDay(actual) + " instead of " + LocalDate.ofEpochDay(expected));
+        }
+    }
+
+    private void checkCompare(Tally tally, int day1, int day2, long[] out) {
+        LocalDate date1 = LocalDate.ofEpochDay(day1);
+        LocalDate date2 = LocalDate.ofEpochDay(day2);
+        Calendar calendar1 = CalendarReference.parsed(date1.getYear(), date1.getMonthValue() - 1, date1.getDayOfMonth());
+        Calendar calendar2 = CalendarReference.parsed(date2.getYear(), date2.getMonthValue() - 1, date2.getDayOfMonth());
+        boolean acrossDst = (calendar2.getTimeInMillis() - calendar1.getTimeInMillis()) % DAY_MILLIS != 0;
+
+        // the total days come from the calendar, the years, months and days from java.time
+        CalendarReference.yearsMonthsDays(calendar1, calendar2, out);
+        long period = candidate.period(day1, day2);
+        java.time.Period exact = java.time.Period.between(date1, date2);
+        tally.checked[COMPARE]++;
+        if (Period.years(period) != exact.getYears() || Period.months(period) != exact.getMonths() || Period.days(period) != exact.getDays()) {
+            tally.mismatch(COMPARE, "compare " + date1 + " and " + date2 + ": " + Period.years(period) + "y " + Period.months(period) + "m "
+                    + Period.days(period) + "d instead of " + exact);
+        } else if (day2 - day1 != out[3]) {
+            if (acrossDst) {
+                tally.divergences[DST]++;
+            } else {
+                tally.mismatch(COMPARE, "compare " + date1 + " and " + date2 + ": " + (day2 - day1) + " days instead of " + out[3]);
+            }
+        } else if (Period.years(period) != out[0] || Period.months(period) != out[1] || Period.days(period) != out[2]) {
+            tally.divergences[APPROXIMATION]++;
+        }
+
+        // businessDays() moves the calendars, so it goes last
+        long expected = CalendarReference.businessDays(calendar1, calendar2);
+        int actual = candidate.businessDays(day1, day2);
+        tally.checked[COMPARE_BUSINESS]++;
+        if (actual != expected) {
+            if (acrossDst) {
+                tally.divergences[DST]++;
+            } else if (EpochDays.dayOfWeek(day2) == EpochDays.SATURDAY && expected == actual + 1) {
+                tally.divergences[SATURDAY]++;
+            } else {
+                tally.mismatch(COMPARE_BUSINESS, "business days between " + date1 + " and " + date2 + ": " + actual + " instead of " + expected);
+            }
+        }
+    }
+
+    // counts from one block of start days, merged into the total
+    public static final class Tally {
+
+        final long[] checked = new long[CHECKS.length];
+        final long[] failed = new long[CHECKS.length];
+        final long[] divergences = new long[DIVERGENCES.length];
+        final List<String> examples = new ArrayList<String>();
+
+        public long mismatches() {
+            long total = 0;
+            for (long count : failed) {
+                total += count;
+            }
+            return total;
+        }
+
+        void mismatch(int check, String example) {
+            failed[check]++;
+            if (examples.size() < EXAMPLES) {
+                examples.add(example);
+            }
+        }
+
+        void merge(Tally other) {
+            for (int i = 0; i < CHECKS.length; i++) {
+                checked[i] += other.checked[i];
+                failed[i] += other.failed[i];
+            }
+            for (int i = 0; i < DIVERGENCES.length; i++) {
+                divergences[i] += other.divergences[i];
+            }
+            for (String example : other.examples) {
+                if (examples.size() < EXAMPLES) {
+                    examples.add(example);
+                }
+            }
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder builder = new StringBuilder();
+            for (int i = 0; i < CHECKS.length; i++) {
+                builder.append(String.format(Locale.ROOT, "%-18s %,15d checked %,12d mismatches%n", CHECKS[i], checked[i], failed[i]));
+            }
+            for (int i = 0; i < DIVERGENCES.length; i++) {
+                builder.append(String.format(Locale.ROOT, "%-18s %,15d known differences%n", DIVERGENCES[i], divergences[i]));
+            }
+            for (String example : examples) {
+                builder.append(example).append(String.format("%n"));
+            }
+            return builder.toString();
+        }
+
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.mobabur94.datecalc.benchmark;
+
+import com.mobabur94.datecalc.engine.DateCodec;
+import com.mobabur94.datecalc.engine.EpochDays;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+// the date text round trip every recalculation makes: SimpleDateFormat against the codec
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FormatBenchmark {
+
+    private final SimpleDateFormat sdf = new SimpleDateFormat("yyyy MMM dd [EEE]", Locale.US);
+    private final DateCodec codec = new DateCodec(EpochDays.of(2015, 4, 6), 3 * 366);
+    private final char[] buffer = new char[DateCodec.MAX_LENGTH];
+    private final String[] texts = new String[DateInputs.SIZE];
+    private DateInputs inputs;
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        inputs = new DateInputs(false);
+        for (int i = 0; i < DateInputs.SIZE; i++) {
+            texts[i] = codec.format(inputs.startDays[i]);
+        }
+    }
+
+    @Benchmark
+    public String simpleDateFormat() throws ParseException {
+        int i = index++ & DateInputs.MASK;
+        Date date = sdf.parse(texts[i]);
+        return sdf.format(date);
+    }
+
+    @Benchmark
+    public int codec() throws ParseException {
+        int i = index++ & DateInputs.MASK;
+        return codec.formatTo(codec.parse(texts[i]), buffer, 0);
+    }
+
+    @Benchmark
+    public String codecCached() throws ParseException {
+        int i = index++ & DateInputs.MASK;
+        return codec.format(codec.parse(texts[i]));
+    }
+
+}
@@ -0,0 +1,51 @@
+package com.mobabur94.datecalc.benchmark;
+
+import com.mobabur94.datecalc.engine.Workweek;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Calendar;
+import java.util.concurrent.TimeUnit;
+
+// the original DateCalcHelper sunday walks against the closed form business day count that replaced them
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class HelperBenchmark {
+
+    private DateInputs inputs;
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        inputs = new DateInputs(false);
+    }
+
+    @Benchmark
+    public long calendarSundays() {
+        int i = index++ & DateInputs.MASK;
+        Calendar calendar1 = CalendarReference.calendar(inputs.startYears[i], inputs.startMonths[i], inputs.startDaysOfMonth[i]);
+        Calendar calendar2 = CalendarReference.calendar(inputs.endYears[i], inputs.endMonths[i], inputs.endDaysOfMonth[i]);
+        return CalendarReference.daysUntilSunday(calendar1) + CalendarReference.daysFromSunday(calendar2);
+    }
+
+    @Benchmark
+    public int engineBetween() {
+        int i = index++ & DateInputs.MASK;
+        return Workweek.STANDARD.between(inputs.startDays[i], inputs.endDays[i]);
+    }
+
+}
@@ -0,0 +1,74 @@
+package com.mobabur94.datecalc.benchmark;
+
+import com.mobabur94.datecalc.engine.EpochDays;
+import com.mobabur94.datecalc.engine.HolidayCalendars;
+import com.mobabur94.datecalc.server.BulkCalculations;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+// the day of the week questions over a column of a million days, scores are days per microsecond
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WeekdaysBenchmark {
+
+    private static final int SIZE = 1 << 20;
+
+    private BulkCalculations bulk;
+    private final int[] startDays = new int[SIZE];
+    private final int[] endDays = new int[SIZE];
+    private final int[] out = new int[SIZE];
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        bulk = new BulkCalculations(ForkJoinPool.commonPool(), HolidayCalendars.unitedStatesFederal(1900, 2199));
+        Random random = new Random(42);
+        int first = EpochDays.of(1900, 1, 1);
+        for (int i = 0; i < SIZE; i++) {
+            startDays[i] = first + random.nextInt(73000);
+            endDays[i] = startDays[i] + random.nextInt(4001) - 2000;
+        }
+    }
+
+    // how many mondays between each pair
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public int[] mondays() {
+        bulk.weekdays(startDays, endDays, EpochDays.MONDAY, out);
+        return out;
+    }
+
+    // the 3rd thursday of each day's month
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public int[] thirdThursday() {
+        bulk.nthWeekdayOfMonth(startDays, EpochDays.THURSDAY, 3, out);
+        return out;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public int[] lastBusinessDay() {
+        bulk.lastBusinessDayOfMonth(startDays, out);
+        return out;
+    }
+
+}
@@ -0,0 +1,43 @@
+package com.mobabur94.datecalc.engine;
+
+// business mode and the weekends and holidays it skips, as one snapshot that never changes once it is made
+//
+// a calculation reads the published snapshot once and uses only that, so a change that lands while it runs can not mix
+// old weekends with new holidays; each snapshot is one version past the one it replaced, and results carry the version
+// to say which rules they were made with
+public final class BusinessRules {
+
+    // everyday mode with saturday and sunday off and no holidays, before anything is published
+    public static final BusinessRules DEFAULT = new BusinessRules(0, false, HolidayCalendar.NONE);
+
+    private final int version;
+    private final boolean businessMode;
+    private final HolidayCalendar holidayCalendar;
+
+    private BusinessRules(int version, boolean businessMode, HolidayCalendar holidayCalendar) {
+        this.version = version;
+        this.businessMode = businessMode;
+        this.holidayCalendar = holidayCalendar;
+    }
+
+    public int version() {
+        return version;
+    }
+
+    public boolean businessMode() {
+        return businessMode;
+    }
+
+    public HolidayCalendar holidayCalendar() {
+        return holidayCalendar;
+    }
+
+    // get the next version with the given settings, or this one if nothing changed
+    public BusinessRules next(boolean businessMode, HolidayCalendar holidayCalendar) {
+        if (businessMode == this.businessMode && holidayCalendar == this.holidayCalendar) {
+            return this;
+        }
+        return new BusinessRules(version + 1, businessMode, holidayCalendar);
+    }
+
+}
@@ -0,0 +1,178 @@
+package com.mobabur94.datecalc.engine;
+
+import java.text.ParseException;
+
+// reads and writes the app's "yyyy MMM dd [EEE]" dates (like "2015 Apr 06 [Mon]") straight from and to day numbers
+//
+// the text of every day in a window around a center day is made once up front, instances never change afterwards
+// so one can be shared by any amount of threads
+public final class DateCodec {
+
+    // the longest text formatTo() can write
+    public static final int MAX_LENGTH = 24;
+
+    private static final char[][] MONTHS = {
+            "Jan".toCharArray(), "Feb".toCharArray(), "Mar".toCharArray(), "Apr".toCharArray(),
+            "May".toCharArray(), "Jun".toCharArray(), "Jul".toCharArray(), "Aug".toCharArray(),
+            "Sep".toCharArray(), "Oct".toCharArray(), "Nov".toCharArray(), "Dec".toCharArray()
+    };
+
+    private static final char[][] DAYS_OF_WEEK = {
+            "Mon".toCharArray(), "Tue".toCharArray(), "Wed".toCharArray(), "Thu".toCharArray(),
+            "Fri".toCharArray(), "Sat".toCharArray(), "Sun".toCharArray()
+    };
+
+    private final int firstCachedDay;
+    private final String[] cache;
+
+    // cache the text of every day from window days before the center day to window days after it
+    public DateCodec(int centerDay, int window) {
+        firstCachedDay = centerDay - window;
+        cache = new String[2 * window + 1];
+        char[] buffer = new char[MAX_LENGTH];
+        for (int i = 0; i < cache.length; i++) {
+            cache[i] = new String(buffer, 0, formatTo(firstCachedDay + i, buffer, 0));
+        }
+    }
+
+    // get the text of a day, only days outside of the cached window make a new string
+    public String format(int epochDay) {
+        int index = epochDay - firstCachedDay;
+        if (index >= 0 && index < cache.length) {
+            return cache[index];
+        }
+        char[] buffer = new char[MAX_LENGTH];
+        return new String(buffer, 0, formatTo(epochDay, buffer, 0));
+    }
+
+    // write the text of a day into a buffer with at least MAX_LENGTH chars free, returning the amount written
+    public int formatTo(int epochDay, char[] buffer, int offset) {
+        int position = offset;
+
+        // the year has at least 4 digits
+        int year = EpochDays.year(epochDay);
+        if (year < 0) {
+            buffer[position++] = '-';
+            year = -year;
+        }
+        int digits = 4;
+        for (int rest = year / 10000; rest > 0; rest /= 10) {
+            digits++;
+        }
+        for (int i = position + digits - 1; i >= position; i--) {
+            buffer[i] = (char) ('0' + year % 10);
+            year /= 10;
+        }
+        position += digits;
+        buffer[position++] = ' ';
+
+        char[] month = MONTHS[EpochDays.month(epochDay) - 1];
+        buffer[position++] = month[0];
+        buffer[position++] = month[1];
+        buffer[position++] = month[2];
+        buffer[position++] = ' ';
+
+        int day = EpochDays.dayOfMonth(epochDay);
+        buffer[position++] = (char) ('0' + day / 10);
+        buffer[position++] = (char) ('0' + day % 10);
+        buffer[position++] = ' ';
+
+        char[] dayOfWeek = DAYS_OF_WEEK[EpochDays.dayOfWeek(epochDay) - 1];
+        buffer[position++] = '[';
+        buffer[position++] = dayOfWeek[0];
+        buffer[position++] = dayOfWeek[1];
+        buffer[position++] = dayOfWeek[2];
+        buffer[position++] = ']';
+        return position - offset;
+    }
+
+    // read the text of a day, the day of the week part is optional and is not checked against the date, years past the
+    // day numbers are rejected
+    public int parse(CharSequence text) throws ParseException {
+        int length = text.length();
+        int position = 0;
+
+        // read the year
+        boolean negative = position < length && text.charAt(position) == '-';
+        if (negative) {
+            position++;
+        }
+        int start = position;
+        int year = 0;
+        while (position < length && isDigit(text.charAt(position)) && position - start < 9) {
+            year = year * 10 + (text.charAt(position++) - '0');
+        }
+        if (position == start) {
+            throw new ParseException("expected a year", position);
+        }
+        if (negative) {
+            year = -year;
+        }
+        position = expect(text, position, ' ');
+
+        // read the month name
+        int month = match(text, position, MONTHS) + 1;
+        if (month == 0) {
+            throw new ParseException("expected a month", position);
+        }
+        position = expect(text, position + 3, ' ');
+
+        // read the day of the month, one or two digits
+        start = position;
+        int day = 0;
+        while (position < length && isDigit(text.charAt(position)) && position - start < 2) {
+            day = day * 10 + (text.charAt(position++) - '0');
+        }
+        if (position == start || day < 1 || day > EpochDays.lengthOfMonth(year, month)) {
+            throw new ParseException("expected a day of the month", start);
+        }
+
+        // read the optional day of the week
+        if (position < length) {
+            position = expect(text, position, ' ');
+            position = expect(text, position, '[');
+            if (match(text, position, DAYS_OF_WEEK) < 0) {
+                throw new ParseException("expected a day of the week", position);
+            }
+            position = expect(text, position + 3, ']');
+            if (position != length) {
+                throw new ParseException("unexpected text after the date", position);
+            }
+        }
+
+        // a date past the day numbers wraps around to a day of some other year
+        int epochDay = EpochDays.of(year, month, day);
+        if (EpochDays.year(epochDay) != year) {
+            throw new ParseException("date out of range", 0);
+        }
+        return epochDay;
+    }
+
+    private static int expect(CharSequence text, int position, char c) throws ParseException {
+        if (position >= text.length() || text.charAt(position) != c) {
+            throw new ParseException("expected '" + c + "'", position);
+        }
+        return position + 1;
+    }
+
+    // find which of the names is at the position, ignoring case, or -1 if none are
+    private static int match(CharSequence text, int position, char[][] names) {
+        if (position + 3 > text.length()) {
+            return -1;
+        }
+        for (int i = 0; i < names.length; i++) {
+            char[] name = names[i];
+            if (Character.toLowerCase(text.charAt(position)) == Character.toLowerCase(name[0])
+                    && Character.toLowerCase(text.charAt(position + 1)) == name[1]
+                    && Character.toLowerCase(text.charAt(position + 2)) == name[2]) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+}
@@ -0,0 +1,159 @@
+package com.mobabur94.datecalc.engine;
+
+// date math on plain day numbers counted from 1970-01-01 in the proleptic gregorian calendar
+public final class EpochDays {
+
+    public static final int MONDAY = 1;
+    public static final int TUESDAY = 2;
+    public static final int WEDNESDAY = 3;
+    public static final int THURSDAY = 4;
+    public static final int FRIDAY = 5;
+    public static final int SATURDAY = 6;
+    public static final int SUNDAY = 7;
+
+    // days from 0000-03-01 to 1970-01-01
+    private static final int DAYS_0000_TO_1970 = 719468;
+
+    // days in a 400 year cycle
+    private static final int DAYS_PER_CYCLE = 146097;
+
+    // every day of these years has a day number, the first and last day numbers fall in the years just outside them
+    private static final int MIN_YEAR = -5877640;
+    private static final int MAX_YEAR = 5881579;
+
+    private EpochDays() { }
+
+    // get the day number of a year, month (1 to 12) and day of the month
+    public static int of(int year, int month, int day) {
+        // count years from march so that the leap day is the last day of the year
+        int y = (month <= 2) ? year - 1 : year;
+        int era = floorDiv(y, 400);
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * ((month + 9) % 12) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * DAYS_PER_CYCLE + dayOfEra - DAYS_0000_TO_1970;
+    }
+
+    public static int year(int epochDay) {
+        int dayOfEra = dayOfEra(epochDay);
+        int yearOfEra = yearOfEra(dayOfEra);
+        int year = yearOfEra + cycle(epochDay) * 400;
+        return (marchMonth(dayOfEra, yearOfEra) >= 10) ? year + 1 : year;
+    }
+
+    // get the month (1 to 12) of a day number
+    public static int month(int epochDay) {
+        int dayOfEra = dayOfEra(epochDay);
+        int marchMonth = marchMonth(dayOfEra, yearOfEra(dayOfEra));
+        return (marchMonth < 10) ? marchMonth + 3 : marchMonth - 9;
+    }
+
+    public static int dayOfMonth(int epochDay) {
+        int dayOfEra = dayOfEra(epochDay);
+        int dayOfYear = dayOfYear(dayOfEra, yearOfEra(dayOfEra));
+        return dayOfYear - (153 * ((5 * dayOfYear + 2) / 153) + 2) / 5 + 1;
+    }
+
+    // get the day of the week (MONDAY to SUNDAY) of a day number, 1970-01-01 was a thursday
+    public static int dayOfWeek(int epochDay) {
+        return (floorMod(epochDay, 7) + 3) % 7 + 1;
+    }
+
+    public static boolean isLeapYear(int year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    public static int lengthOfMonth(int year, int month) {
+        if (month == 2) {
+            return isLeapYear(year) ? 29 : 28;
+        }
+        return (month == 4 || month == 6 || month == 9 || month == 11) ? 30 : 31;
+    }
+
+    // days from the start day to the end day, negative if the end is before the start
+    public static int daysBetween(int startDay, int endDay) {
+        return endDay - startDay;
+    }
+
+    // add months, keeping the day of the month unless the new month is too short for it, an ArithmeticException if the
+    // result is past the years a day number can hold
+    public static int plusMonths(int epochDay, int months) {
+        return plusMonths(epochDay, (long) months);
+    }
+
+    private static int plusMonths(int epochDay, long months) {
+        if (months == 0) {
+            return epochDay;
+        }
+        int dayOfEra = dayOfEra(epochDay);
+        int yearOfEra = yearOfEra(dayOfEra);
+        int dayOfYear = dayOfYear(dayOfEra, yearOfEra);
+        int marchMonth = (5 * dayOfYear + 2) / 153;
+        int day = dayOfYear - (153 * marchMonth + 2) / 5 + 1;
+        int year = yearOfEra + cycle(epochDay) * 400 + ((marchMonth >= 10) ? 1 : 0);
+        int month = (marchMonth < 10) ? marchMonth + 3 : marchMonth - 9;
+
+        // move the month and carry into the year
+        long totalMonths = year * 12L + (month - 1) + months;
+        long newYear = floorDiv(totalMonths, 12);
+        if (newYear < MIN_YEAR || newYear > MAX_YEAR) {
+            throw new ArithmeticException("year " + newYear + " is out of range");
+        }
+        int newMonth = (int) (totalMonths - newYear * 12) + 1;
+        return of((int) newYear, newMonth, Math.min(day, lengthOfMonth((int) newYear, newMonth)));
+    }
+
+    // add years, the months are counted in a long so any amount of years either fits or throws an ArithmeticException
+    public static int plusYears(int epochDay, int years) {
+        return (years == 0) ? epochDay : plusMonths(epochDay, years * 12L);
+    }
+
+    // add years, then months, then days one after the other, the same way a calendar would, an ArithmeticException if
+    // the result is past the days a day number can hold
+    public static int plus(int epochDay, int years, int months, int days) {
+        long result = (long) plusMonths(plusYears(epochDay, years), months) + days;
+        if (result != (int) result) {
+            throw new ArithmeticException("day " + result + " is out of range");
+        }
+        return (int) result;
+    }
+
+    // the 400 year cycle holding the day, counted from 0000-03-01 in a long since that shift passes the last day numbers
+    private static int cycle(int epochDay) {
+        return (int) floorDiv((long) epochDay + DAYS_0000_TO_1970, DAYS_PER_CYCLE);
+    }
+
+    // days since the start of the 400 year cycle (which starts on a march 1st) holding the day
+    private static int dayOfEra(int epochDay) {
+        return (int) ((long) epochDay + DAYS_0000_TO_1970 - (long) cycle(epochDay) * DAYS_PER_CYCLE);
+    }
+
+    private static int yearOfEra(int dayOfEra) {
+        return (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / (DAYS_PER_CYCLE - 1)) / 365;
+    }
+
+    // days since march 1st of the year holding the day
+    private static int dayOfYear(int dayOfEra, int yearOfEra) {
+        return dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+    }
+
+    // months since march (0 to 11)
+    private static int marchMonth(int dayOfEra, int yearOfEra) {
+        return (5 * dayOfYear(dayOfEra, yearOfEra) + 2) / 153;
+    }
+
+    static int floorDiv(int x, int y) {
+        int q = x / y;
+        return ((x % y != 0) && ((x ^ y) < 0)) ? q - 1 : q;
+    }
+
+    static long floorDiv(long x, long y) {
+        long q = x / y;
+        return ((x % y != 0) && ((x ^ y) < 0)) ? q - 1 : q;
+    }
+
+    static int floorMod(int x, int y) {
+        return x - floorDiv(x, y) * y;
+    }
+
+}
@@ -0,0 +1,99 @@
+package com.mobabur94.datecalc.engine;
+
+// table driven day number conversions, the same results as EpochDays from a few array lookups instead of divisions
+//
+// the gregorian calendar repeats every 400 years (146097 days, a whole number of weeks), so one cycle is enough, and
+// the day of the week is just the day of the cycle modulo 7:
+//   short[146097]  year of the cycle for every day of it          285.3 KiB
+//   int[401]       first day of every year of the cycle             1.6 KiB
+//   byte[2][366]   month and day of the month for every day of the year,
+//                  for common and leap years, twice                  1.4 KiB
+//   short[2][13]   first day of the year of every month               52 B
+// which is about 288 KiB once the class is loaded, so it is only worth it where that fits in memory and cache
+public final class GregorianTables {
+
+    // days from 0000-01-01 to 1970-01-01
+    private static final int DAYS_0000_TO_1970 = 719528;
+
+    // 0000-01-01 was a saturday
+    private static final int DAY_OF_WEEK_0000 = EpochDays.SATURDAY;
+
+    private static final int DAYS_PER_CYCLE = 146097;
+
+    private static final short[] YEAR_OF_CYCLE = new short[DAYS_PER_CYCLE];
+    private static final int[] YEAR_START = new int[401];
+    private static final byte[][] MONTH_OF_YEAR = new byte[2][366];
+    private static final byte[][] DAY_OF_MONTH = new byte[2][366];
+    private static final short[][] MONTH_START = new short[2][13];
+
+    static {
+        for (int year = 0; year < 400; year++) {
+            int length = EpochDays.isLeapYear(year) ? 366 : 365;
+            YEAR_START[year + 1] = YEAR_START[year] + length;
+            for (int day = YEAR_START[year]; day < YEAR_START[year + 1]; day++) {
+                YEAR_OF_CYCLE[day] = (short) year;
+            }
+        }
+
+        for (int leap = 0; leap <= 1; leap++) {
+            int dayOfYear = 0;
+            for (int month = 1; month <= 12; month++) {
+                MONTH_START[leap][month] = (short) dayOfYear;
+                int length = EpochDays.lengthOfMonth((leap == 1) ? 2000 : 2001, month);
+                for (int day = 1; day <= length; day++) {
+                    MONTH_OF_YEAR[leap][dayOfYear] = (byte) month;
+                    DAY_OF_MONTH[leap][dayOfYear] = (byte) day;
+                    dayOfYear++;
+                }
+            }
+        }
+    }
+
+    private GregorianTables() { }
+
+    // get the day number of a year, month (1 to 12) and day of the month
+    public static int of(int year, int month, int day) {
+        int cycle = EpochDays.floorDiv(year, 400);
+        int yearOfCycle = year - cycle * 400;
+        return cycle * DAYS_PER_CYCLE + YEAR_START[yearOfCycle] + MONTH_START[leap(yearOfCycle)][month] + day - 1 - DAYS_0000_TO_1970;
+    }
+
+    public static int year(int epochDay) {
+        int days = epochDay + DAYS_0000_TO_1970;
+        int cycle = EpochDays.floorDiv(days, DAYS_PER_CYCLE);
+        return cycle * 400 + YEAR_OF_CYCLE[days - cycle * DAYS_PER_CYCLE];
+    }
+
+    // get the month (1 to 12) of a day number
+    public static int month(int epochDay) {
+        return Period.months(fields(epochDay));
+    }
+
+    public static int dayOfMonth(int epochDay) {
+        return Period.days(fields(epochDay));
+    }
+
+    // get the year, month (1 to 12), day of the month and day of the week at once, packed like a Period so its
+    // accessors read the first three, with the day of the week above the month for dayOfWeek(fields)
+    public static long fields(int epochDay) {
+        int days = epochDay + DAYS_0000_TO_1970;
+        int cycle = EpochDays.floorDiv(days, DAYS_PER_CYCLE);
+        int dayOfCycle = days - cycle * DAYS_PER_CYCLE;
+        int yearOfCycle = YEAR_OF_CYCLE[dayOfCycle];
+        int dayOfYear = dayOfCycle - YEAR_START[yearOfCycle];
+        int leap = leap(yearOfCycle);
+        int dayOfWeek = (dayOfCycle + DAY_OF_WEEK_0000 - 1) % 7 + 1;
+        return Period.pack(cycle * 400 + yearOfCycle, MONTH_OF_YEAR[leap][dayOfYear], DAY_OF_MONTH[leap][dayOfYear]) | (dayOfWeek << 16);
+    }
+
+    // get the day of the week, MONDAY to SUNDAY, out of fields()
+    public static int dayOfWeek(long fields) {
+        return (int) (fields >>> 16) & 0xFF;
+    }
+
+    // 1 for a leap year of the cycle, read from the table rather than worked out
+    private static int leap(int yearOfCycle) {
+        return YEAR_START[yearOfCycle + 1] - YEAR_START[yearOfCycle] - 365;
+    }
+
+}
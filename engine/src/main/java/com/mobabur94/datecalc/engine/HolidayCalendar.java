@@ -0,0 +1,129 @@
+package com.mobabur94.datecalc.engine;
+
+import java.util.Arrays;
+
+// business day math that also skips holidays, backed by the sorted holidays and a running count kept per holiday
+//
+// a count of business days is the workweek's count minus the holidays up to that day, found with a binary search, so
+// the index takes 8 bytes per holiday whatever span the holidays cover; a running count for every day would answer
+// without the search, but for the us holidays of 1900 to 2199 that is 428 KiB against 26 KiB, and the search over
+// those 3300 holidays is 12 steps, so between and plus take time in the log of the holidays rather than constant time
+public final class HolidayCalendar {
+
+    // a calendar without any holidays, which behaves just like Workweek.STANDARD
+    public static final HolidayCalendar NONE = new HolidayCalendar(new int[0]);
+
+    // the days plus can land on, a week inside the ints so the week arithmetic of the workweek never overflows
+    private static final int FIRST_DAY = Integer.MIN_VALUE + 7;
+    private static final int LAST_DAY = Integer.MAX_VALUE - 7;
+
+    // the working days of the week, everything else is a weekend
+    private final Workweek workweek;
+
+    // sorted distinct holidays, only the ones that fall on a working day
+    private final int[] holidays;
+
+    // the count of business days each holiday would have had if it were not one, which never goes down from one holiday
+    // to the next, so the holidays a count has to skip are found with a binary search
+    private final int[] skipped;
+
+    // the counts of the first and last days plus can land on
+    private final int firstCount;
+    private final int lastCount;
+
+    // holidays with saturday and sunday as the weekend
+    public HolidayCalendar(int[] holidays) {
+        this(holidays, Workweek.STANDARD);
+    }
+
+    public HolidayCalendar(int[] holidays, Workweek workweek) {
+        this.workweek = workweek;
+        int[] sorted = Arrays.copyOf(holidays, holidays.length);
+        Arrays.sort(sorted);
+
+        // drop duplicates and weekends since those are already skipped
+        int count = 0;
+        for (int holiday : sorted) {
+            if (workweek.isBusinessDay(holiday) && (count == 0 || sorted[count - 1] != holiday)) {
+                sorted[count++] = holiday;
+            }
+        }
+        this.holidays = Arrays.copyOf(sorted, count);
+
+        // the i holidays before each one are already taken out of its count
+        skipped = new int[count];
+        for (int i = 0; i < count; i++) {
+            skipped[i] = workweek.until(this.holidays[i]) - i;
+        }
+        firstCount = count(FIRST_DAY);
+        lastCount = count(LAST_DAY);
+    }
+
+    public Workweek workweek() {
+        return workweek;
+    }
+
+    // get the amount of holidays that fall on a working day
+    public int size() {
+        return holidays.length;
+    }
+
+    public boolean isHoliday(int epochDay) {
+        return Arrays.binarySearch(holidays, epochDay) >= 0;
+    }
+
+    public boolean isBusinessDay(int epochDay) {
+        return workweek.isBusinessDay(epochDay) && !isHoliday(epochDay);
+    }
+
+    // move the given amount of business days away, skipping weekends and holidays, an amount of 0 stays on the day, an
+    // ArithmeticException if that is past the days a day number can hold
+    public int plus(int epochDay, int amount) {
+        if (amount > 0) {
+            return reaching(inRange((long) count(epochDay) + amount));
+        } else if (amount < 0) {
+            return reaching(inRange((long) count(epochDay - 1) + amount + 1));
+        }
+        return epochDay;
+    }
+
+    // business days after the start day up to and including the end day, negative if the end is before the start
+    public int between(int startDay, int endDay) {
+        return count(endDay) - count(startDay);
+    }
+
+    // a count whose first day is one plus can land on
+    private int inRange(long count) {
+        if (count <= firstCount || count > lastCount) {
+            throw new ArithmeticException("business day " + count + " is out of range");
+        }
+        return (int) count;
+    }
+
+    // business days up to and including the given day, minus the holidays before it
+    private int count(int epochDay) {
+        return workweek.until(epochDay) - upTo(holidays, epochDay);
+    }
+
+    // the first day that count() reaches the given count on, which is always a business day: every holiday whose own
+    // count is reached has to be stepped over, and the working day that lands on is past those and before the rest
+    private int reaching(int count) {
+        return workweek.reaching(count + upTo(skipped, count));
+    }
+
+    // the amount of values up to and including the given one in a sorted array
+    private static int upTo(int[] sorted, int value) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] <= value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+}
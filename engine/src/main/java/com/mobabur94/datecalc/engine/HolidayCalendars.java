@@ -0,0 +1,141 @@
+package com.mobabur94.datecalc.engine;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+// ready made holiday calendars
+public final class HolidayCalendars {
+
+    private HolidayCalendars() { }
+
+    // us federal holidays using the observed dates, where a saturday holiday moves to friday and a sunday one to monday
+    //
+    // each year gets the holidays of its time: the monday holidays start in 1971 and fall on their fixed dates before,
+    // veterans day was the fourth monday of october from 1971 to 1977, thanksgiving was the last thursday of november
+    // before 1939 and the one before that from 1939 to 1941, columbus day starts in 1937, armistice day in 1938, martin
+    // luther king jr. day in 1986 and juneteenth in 2021, and the list is complete from 1894, when labor day starts; the
+    // observed dates are used for every year, even though federal workers only got them in steps before 1971
+    public static HolidayCalendar unitedStatesFederal(int fromYear, int toYear) {
+        return unitedStatesFederal(fromYear, toYear, Workweek.STANDARD);
+    }
+
+    // the same observed dates, skipped on top of the weekends of the given workweek
+    public static HolidayCalendar unitedStatesFederal(int fromYear, int toYear, Workweek workweek) {
+        return new HolidayCalendar(unitedStatesFederalDays(fromYear, toYear), workweek);
+    }
+
+    // the observed dates from year to year, not yet sorted
+    private static int[] unitedStatesFederalDays(int fromYear, int toYear) {
+        int[] holidays = new int[(toYear - fromYear + 1) * 11];
+        int count = 0;
+        for (int year = fromYear; year <= toYear; year++) {
+            holidays[count++] = observed(EpochDays.of(year, 1, 1));
+            if (year >= 1986) {
+                holidays[count++] = Weekdays.nthInMonth(year, 1, EpochDays.MONDAY, 3);
+            }
+            holidays[count++] = (year >= 1971) ? Weekdays.nthInMonth(year, 2, EpochDays.MONDAY, 3) : observed(EpochDays.of(year, 2, 22));
+            holidays[count++] = (year >= 1971) ? Weekdays.lastInMonth(year, 5, EpochDays.MONDAY) : observed(EpochDays.of(year, 5, 30));
+            if (year >= 2021) {
+                holidays[count++] = observed(EpochDays.of(year, 6, 19));
+            }
+            holidays[count++] = observed(EpochDays.of(year, 7, 4));
+            holidays[count++] = Weekdays.nthInMonth(year, 9, EpochDays.MONDAY, 1);
+            if (year >= 1971) {
+                holidays[count++] = Weekdays.nthInMonth(year, 10, EpochDays.MONDAY, 2);
+            } else if (year >= 1937) {
+                holidays[count++] = observed(EpochDays.of(year, 10, 12));
+            }
+            if (year >= 1971 && year <= 1977) {
+                holidays[count++] = Weekdays.nthInMonth(year, 10, EpochDays.MONDAY, 4);
+            } else if (year >= 1938) {
+                holidays[count++] = observed(EpochDays.of(year, 11, 11));
+            }
+            if (year >= 1942) {
+                holidays[count++] = Weekdays.nthInMonth(year, 11, EpochDays.THURSDAY, 4);
+            } else {
+                holidays[count++] = Weekdays.lastInMonth(year, 11, EpochDays.THURSDAY) - ((year >= 1939) ? 7 : 0);
+            }
+            holidays[count++] = observed(EpochDays.of(year, 12, 25));
+        }
+        return Arrays.copyOf(holidays, count);
+    }
+
+    // read weekends and holidays written one setting per line, anything after a # is left out:
+    //
+    //   workweek 1111100          the working days from monday to sunday, monday to friday if left out
+    //   us-federal 1900 2199      the us federal holidays of those years
+    //   2015-12-24                one more holiday
+    public static HolidayCalendar read(Reader reader) throws IOException {
+        BufferedReader lines = (reader instanceof BufferedReader) ? (BufferedReader) reader : new BufferedReader(reader);
+        Workweek workweek = Workweek.STANDARD;
+        int fromYear = 0;
+        int toYear = -1;
+        int[] holidays = new int[16];
+        int count = 0;
+
+        int number = 0;
+        String line;
+        while ((line = lines.readLine()) != null) {
+            number++;
+            int comment = line.indexOf('#');
+            String[] words = ((comment >= 0) ? line.substring(0, comment) : line).trim().split("\\s+");
+            if (words[0].isEmpty()) {
+                continue;
+            }
+            try {
+                if (words[0].equals("workweek") && words.length == 2) {
+                    workweek = Workweek.parse(words[1]);
+                } else if (words[0].equals("us-federal") && words.length == 3) {
+                    fromYear = Integer.parseInt(words[1]);
+                    toYear = Integer.parseInt(words[2]);
+                } else if (words.length == 1) {
+                    if (count == holidays.length) {
+                        holidays = Arrays.copyOf(holidays, count * 2);
+                    }
+                    holidays[count++] = date(words[0]);
+                } else {
+                    throw new IllegalArgumentException("expected workweek, us-federal or a date");
+                }
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("line " + number + ": " + e.getMessage());
+            }
+        }
+
+        // the us holidays and the ones listed are all skipped, HolidayCalendar drops any that repeat
+        if (fromYear <= toYear) {
+            int[] federal = unitedStatesFederalDays(fromYear, toYear);
+            holidays = Arrays.copyOf(holidays, count + federal.length);
+            System.arraycopy(federal, 0, holidays, count, federal.length);
+            count += federal.length;
+        }
+        return new HolidayCalendar(Arrays.copyOf(holidays, count), workweek);
+    }
+
+    // a yyyy-MM-dd date as a day number
+    private static int date(String text) {
+        if (text.length() != 10 || text.charAt(4) != '-' || text.charAt(7) != '-') {
+            throw new IllegalArgumentException("expected a yyyy-MM-dd date, got " + text);
+        }
+        int year = Integer.parseInt(text.substring(0, 4));
+        int month = Integer.parseInt(text.substring(5, 7));
+        int day = Integer.parseInt(text.substring(8, 10));
+        if (month < 1 || month > 12 || day < 1 || day > EpochDays.lengthOfMonth(year, month)) {
+            throw new IllegalArgumentException("no such date " + text);
+        }
+        return EpochDays.of(year, month, day);
+    }
+
+    // move a holiday that falls on a weekend to the closest weekday
+    private static int observed(int epochDay) {
+        int dayOfWeek = EpochDays.dayOfWeek(epochDay);
+        if (dayOfWeek == EpochDays.SATURDAY) {
+            return epochDay - 1;
+        } else if (dayOfWeek == EpochDays.SUNDAY) {
+            return epochDay + 1;
+        }
+        return epochDay;
+    }
+
+}
@@ -0,0 +1,321 @@
+package com.mobabur94.datecalc.engine;
+
+// a set of days kept as sorted ranges that neither overlap nor touch, with the days and business days they cover
+//
+// the ranges are the nodes of a treap ordered by their first day, a binary search tree that stays balanced on random
+// priorities, and every node keeps the amount of ranges, days and business days under it; adding or removing a range
+// splits off the ranges it reaches, merges or cuts them and joins the tree again, and the counts are only redone on the
+// path that changed, so every change and every question about part of the set takes time in the log of the ranges
+public final class IntervalSet {
+
+    private static final class Node {
+
+        // first and last day of the range, both included
+        final int first;
+        final int last;
+        final int priority;
+
+        // days and business days of this range alone
+        final long days;
+        long businessDays;
+
+        Node left;
+        Node right;
+
+        // ranges, days and business days of this node and everything under it
+        int count;
+        long daysUnder;
+        long businessDaysUnder;
+
+        Node(int first, int last, int priority, HolidayCalendar calendar) {
+            this.first = first;
+            this.last = last;
+            this.priority = priority;
+            this.days = (long) last - first + 1;
+            this.businessDays = calendar.between(first - 1, last);
+            update();
+        }
+
+        void update() {
+            count = 1;
+            daysUnder = days;
+            businessDaysUnder = businessDays;
+            if (left != null) {
+                count += left.count;
+                daysUnder += left.daysUnder;
+                businessDaysUnder += left.businessDaysUnder;
+            }
+            if (right != null) {
+                count += right.count;
+                daysUnder += right.daysUnder;
+                businessDaysUnder += right.businessDaysUnder;
+            }
+        }
+
+    }
+
+    private HolidayCalendar calendar;
+    private Node root;
+
+    // the two halves left by split
+    private Node lower;
+    private Node upper;
+
+    // xorshift state for the priorities, fixed so the same changes always build the same tree
+    private int seed = 0x2545F491;
+
+    public IntervalSet(HolidayCalendar calendar) {
+        this.calendar = calendar;
+    }
+
+    public HolidayCalendar calendar() {
+        return calendar;
+    }
+
+    // count the business days again with other holidays or weekends, the only change that looks at every range
+    public void setCalendar(HolidayCalendar calendar) {
+        this.calendar = calendar;
+        recount(root);
+    }
+
+    // get the amount of ranges
+    public int size() {
+        return (root == null) ? 0 : root.count;
+    }
+
+    public int first(int index) {
+        return select(index).first;
+    }
+
+    public int last(int index) {
+        return select(index).last;
+    }
+
+    // get the days covered
+    public long days() {
+        return (root == null) ? 0 : root.daysUnder;
+    }
+
+    // get the business days covered
+    public long businessDays() {
+        return (root == null) ? 0 : root.businessDaysUnder;
+    }
+
+    public boolean contains(int epochDay) {
+        Node node = startingBy(epochDay);
+        return node != null && node.last >= epochDay;
+    }
+
+    // add every day from one day to another, in either order, merging with the ranges it overlaps or touches
+    public void add(int startDay, int endDay) {
+        int first = Math.min(startDay, endDay);
+        int last = Math.max(startDay, endDay);
+
+        // the ranges that start before the new one, the last of them reaches it when it ends on or after the day before
+        split(root, first);
+        Node before = lower;
+        Node rest = upper;
+        Node reaching = rightmost(before);
+        if (reaching != null && reaching.last >= (long) first - 1) {
+            split(before, reaching.first);
+            before = lower;
+            first = reaching.first;
+            last = Math.max(last, reaching.last);
+        }
+
+        // the ranges that start inside it or on the day after it are taken in
+        split(rest, (long) last + 2);
+        Node after = upper;
+        Node inside = rightmost(lower);
+        if (inside != null) {
+            last = Math.max(last, inside.last);
+        }
+
+        root = merge(merge(before, node(first, last)), after);
+    }
+
+    // remove every day from one day to another, in either order, cutting the ranges it overlaps
+    public void remove(int startDay, int endDay) {
+        int first = Math.min(startDay, endDay);
+        int last = Math.max(startDay, endDay);
+
+        // the last range that starts before the removed days can stick out on either side of them
+        split(root, first);
+        Node before = lower;
+        Node rest = upper;
+        long rightLast = Long.MIN_VALUE;
+        Node reaching = rightmost(before);
+        if (reaching != null && reaching.last >= first) {
+            split(before, reaching.first);
+            before = merge(lower, node(reaching.first, first - 1));
+            rightLast = reaching.last;
+        }
+
+        // the last range that starts inside them can stick out after them
+        split(rest, (long) last + 1);
+        Node after = upper;
+        Node inside = rightmost(lower);
+        if (inside != null) {
+            rightLast = Math.max(rightLast, inside.last);
+        }
+        if (rightLast > last) {
+            after = merge(node(last + 1, (int) rightLast), after);
+        }
+
+        root = merge(before, after);
+    }
+
+    public void clear() {
+        root = null;
+    }
+
+    // days covered from one day up to and including another
+    public long days(int fromDay, int toDay) {
+        if (toDay < fromDay) {
+            return 0;
+        }
+        return daysUpTo(toDay) - daysUpTo((long) fromDay - 1);
+    }
+
+    // business days covered from one day up to and including another
+    public long businessDays(int fromDay, int toDay) {
+        if (toDay < fromDay) {
+            return 0;
+        }
+        return businessDaysUpTo(toDay) - businessDaysUpTo((long) fromDay - 1);
+    }
+
+    // days covered up to and including the given day, the ranges that start by then less what the last one goes over
+    private long daysUpTo(long epochDay) {
+        long days = 0;
+        Node last = null;
+        for (Node node = root; node != null; ) {
+            if (node.first <= epochDay) {
+                days += node.daysUnder - ((node.right == null) ? 0 : node.right.daysUnder);
+                last = node;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        if (last != null && last.last > epochDay) {
+            days -= last.last - epochDay;
+        }
+        return days;
+    }
+
+    private long businessDaysUpTo(long epochDay) {
+        long businessDays = 0;
+        Node last = null;
+        for (Node node = root; node != null; ) {
+            if (node.first <= epochDay) {
+                businessDays += node.businessDaysUnder - ((node.right == null) ? 0 : node.right.businessDaysUnder);
+                last = node;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        if (last != null && last.last > epochDay) {
+            businessDays -= calendar.between((int) epochDay, last.last);
+        }
+        return businessDays;
+    }
+
+    // the last range that starts on or before the given day
+    private Node startingBy(int epochDay) {
+        Node found = null;
+        for (Node node = root; node != null; ) {
+            if (node.first <= epochDay) {
+                found = node;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return found;
+    }
+
+    // the range at the given index in order
+    private Node select(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("index " + index + " of " + size() + " ranges");
+        }
+        Node node = root;
+        while (true) {
+            int leftCount = (node.left == null) ? 0 : node.left.count;
+            if (index < leftCount) {
+                node = node.left;
+            } else if (index == leftCount) {
+                return node;
+            } else {
+                index -= leftCount + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    // split a tree into the ranges that start before the given day, left in lower, and the rest, left in upper
+    private void split(Node node, long epochDay) {
+        if (node == null) {
+            lower = null;
+            upper = null;
+        } else if (node.first < epochDay) {
+            split(node.right, epochDay);
+            node.right = lower;
+            node.update();
+            lower = node;
+        } else {
+            split(node.left, epochDay);
+            node.left = upper;
+            node.update();
+            upper = node;
+        }
+    }
+
+    // join two trees where every range of the first comes before every range of the second
+    private static Node merge(Node low, Node high) {
+        if (low == null) {
+            return high;
+        }
+        if (high == null) {
+            return low;
+        }
+        if (low.priority > high.priority) {
+            low.right = merge(low.right, high);
+            low.update();
+            return low;
+        }
+        high.left = merge(low, high.left);
+        high.update();
+        return high;
+    }
+
+    private static Node rightmost(Node node) {
+        if (node == null) {
+            return null;
+        }
+        while (node.right != null) {
+            node = node.right;
+        }
+        return node;
+    }
+
+    private Node node(int first, int last) {
+        seed ^= seed << 13;
+        seed ^= seed >>> 17;
+        seed ^= seed << 5;
+        return new Node(first, last, seed, calendar);
+    }
+
+    private void recount(Node node) {
+        if (node == null) {
+            return;
+        }
+        recount(node.left);
+        recount(node.right);
+        node.businessDays = calendar.between(node.first - 1, node.last);
+        node.update();
+    }
+
+}
@@ -0,0 +1,43 @@
+package com.mobabur94.datecalc.engine;
+
+// exact years, months and days between two day numbers, packed into a long so that no objects are needed
+public final class Period {
+
+    private Period() { }
+
+    // get the period between two days, the order of the days does not matter
+    public static long between(int startDay, int endDay) {
+        if (endDay < startDay) {
+            int swap = startDay;
+            startDay = endDay;
+            endDay = swap;
+        }
+
+        // count the whole months between the dates from their fields
+        int totalMonths = (EpochDays.year(endDay) - EpochDays.year(startDay)) * 12 + EpochDays.month(endDay) - EpochDays.month(startDay);
+        if (EpochDays.dayOfMonth(endDay) < EpochDays.dayOfMonth(startDay)) {
+            totalMonths--;
+        }
+
+        // the days are whatever is left after adding the whole months to the start
+        int days = endDay - EpochDays.plusMonths(startDay, totalMonths);
+        return pack(totalMonths / 12, totalMonths % 12, days);
+    }
+
+    public static int years(long period) {
+        return (int) (period >> 32);
+    }
+
+    public static int months(long period) {
+        return (int) (period >>> 8) & 0xFF;
+    }
+
+    public static int days(long period) {
+        return (int) period & 0xFF;
+    }
+
+    static long pack(int years, int months, int days) {
+        return ((long) years << 32) | (months << 8) | days;
+    }
+
+}
@@ -0,0 +1,51 @@
+package com.mobabur94.datecalc.engine;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+// the business rules calculations read, replaced by publishing a new snapshot
+//
+// readers never lock or wait, they get whichever snapshot is published at the time; a change is made against the
+// snapshot it read and only lands if no other change landed first, otherwise it is made again on top of that one, so
+// concurrent changes are never lost and the versions stay in order
+public final class PublishedRules {
+
+    private static final int BUSINESS_MODE = 1;
+    private static final int HOLIDAYS = 2;
+
+    private final AtomicReference<BusinessRules> current;
+
+    public PublishedRules(BusinessRules initial) {
+        current = new AtomicReference<BusinessRules>(initial);
+    }
+
+    public BusinessRules current() {
+        return current.get();
+    }
+
+    // publish both settings as one version, returns the snapshot that is now published
+    public BusinessRules publish(boolean businessMode, HolidayCalendar holidayCalendar) {
+        return update(BUSINESS_MODE | HOLIDAYS, businessMode, holidayCalendar);
+    }
+
+    // turn business mode on or off, keeping the weekends and holidays
+    public BusinessRules publishBusinessMode(boolean businessMode) {
+        return update(BUSINESS_MODE, businessMode, null);
+    }
+
+    // change the weekends and holidays, keeping business mode
+    public BusinessRules publishHolidayCalendar(HolidayCalendar holidayCalendar) {
+        return update(HOLIDAYS, false, holidayCalendar);
+    }
+
+    private BusinessRules update(int changes, boolean businessMode, HolidayCalendar holidayCalendar) {
+        while (true) {
+            BusinessRules rules = current.get();
+            BusinessRules next = rules.next(((changes & BUSINESS_MODE) != 0) ? businessMode : rules.businessMode(),
+                    ((changes & HOLIDAYS) != 0) ? holidayCalendar : rules.holidayCalendar());
+            if (next == rules || current.compareAndSet(rules, next)) {
+                return next;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,60 @@
+package com.mobabur94.datecalc.engine;
+
+// days of the week counted and found with modular arithmetic on day numbers, nothing is walked one day at a time
+public final class Weekdays {
+
+    // returned instead of a day that does not exist, no date the engine handles has this day number
+    public static final int NONE = Integer.MIN_VALUE;
+
+    private Weekdays() { }
+
+    // how many of the given day of the week come after the start day up to and including the end day, negative if the
+    // end is before the start, counted the same way as business days so the seven of them add up to the days between
+    public static int count(int startDay, int endDay, int dayOfWeek) {
+        return until(endDay, dayOfWeek) - until(startDay, dayOfWeek);
+    }
+
+    // the given day of the week up to and including a day, counted from the week of 1970-01-01
+    static int until(int epochDay, int dayOfWeek) {
+        // 1970-01-01 was a thursday, so a day falls on the given day of the week when it is dayOfWeek + 3 modulo 7
+        return EpochDays.floorDiv(epochDay - dayOfWeek - 3, 7);
+    }
+
+    // the first given day of the week on or after a day
+    public static int onOrAfter(int epochDay, int dayOfWeek) {
+        return epochDay + EpochDays.floorMod(dayOfWeek - EpochDays.dayOfWeek(epochDay), 7);
+    }
+
+    // the last given day of the week on or before a day
+    public static int onOrBefore(int epochDay, int dayOfWeek) {
+        return epochDay - EpochDays.floorMod(EpochDays.dayOfWeek(epochDay) - dayOfWeek, 7);
+    }
+
+    // get the nth (from 1 to 5) given day of the week in a month, or NONE for a 5th that the month does not have
+    public static int nthInMonth(int year, int month, int dayOfWeek, int n) {
+        if (n < 1 || n > 5) {
+            throw new IllegalArgumentException("n has to be from 1 to 5, not " + n);
+        }
+        int first = EpochDays.of(year, month, 1);
+        int day = onOrAfter(first, dayOfWeek) + (n - 1) * 7;
+        return (day - first < EpochDays.lengthOfMonth(year, month)) ? day : NONE;
+    }
+
+    // get the last given day of the week in a month
+    public static int lastInMonth(int year, int month, int dayOfWeek) {
+        return onOrBefore(EpochDays.of(year, month, EpochDays.lengthOfMonth(year, month)), dayOfWeek);
+    }
+
+    // get the first day of a month that is not a weekend or a holiday
+    public static int firstBusinessDay(int year, int month, HolidayCalendar holidayCalendar) {
+        int first = EpochDays.of(year, month, 1);
+        return holidayCalendar.isBusinessDay(first) ? first : holidayCalendar.plus(first, 1);
+    }
+
+    // get the last day of a month that is not a weekend or a holiday
+    public static int lastBusinessDay(int year, int month, HolidayCalendar holidayCalendar) {
+        int last = EpochDays.of(year, month, EpochDays.lengthOfMonth(year, month));
+        return holidayCalendar.isBusinessDay(last) ? last : holidayCalendar.plus(last, -1);
+    }
+
+}
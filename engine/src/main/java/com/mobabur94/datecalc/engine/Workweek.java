@@ -0,0 +1,141 @@
+package com.mobabur94.datecalc.engine;
+
+// business day math for any set of working days in the week, given as a 7 bit mask
+//
+// bit 0 is monday through bit 6 for sunday, a set bit is a working day; two tables per mask, indexed by the day of the
+// week, turn a day into a running count of working days and back, so plus and between are O(1) for every mask
+public final class Workweek {
+
+    public static final int MONDAY_TO_FRIDAY = 0x1F;
+    public static final int MONDAY_TO_SATURDAY = 0x3F;
+    public static final int SUNDAY_TO_THURSDAY = 0x4F;
+    public static final int SATURDAY_TO_THURSDAY = 0x6F;
+
+    // saturday and sunday off
+    public static final Workweek STANDARD = new Workweek(MONDAY_TO_FRIDAY);
+
+    // every mask is made at most once, they never change so sharing them between threads is safe
+    private static final Workweek[] CACHE = new Workweek[0x80];
+
+    static {
+        CACHE[MONDAY_TO_FRIDAY] = STANDARD;
+    }
+
+    private final int mask;
+    private final int daysPerWeek;
+
+    // working days from monday up to and including each day of the week, indexed by day of the week - 1
+    private final int[] through = new int[7];
+
+    // days after monday of each working day in the week, in order
+    private final int[] offsets;
+
+    private Workweek(int mask) {
+        this.mask = mask;
+        this.daysPerWeek = Integer.bitCount(mask);
+        this.offsets = new int[daysPerWeek];
+
+        int count = 0;
+        for (int i = 0; i < 7; i++) {
+            if ((mask & (1 << i)) != 0) {
+                offsets[count++] = i;
+            }
+            through[i] = count;
+        }
+    }
+
+    // get the workweek for a mask, which needs at least one working day
+    public static Workweek of(int mask) {
+        if (mask <= 0 || mask > 0x7F) {
+            throw new IllegalArgumentException("a workweek needs 1 to 7 working days, got mask " + mask);
+        }
+        Workweek workweek = CACHE[mask];
+        if (workweek == null) {
+            workweek = new Workweek(mask);
+            CACHE[mask] = workweek;
+        }
+        return workweek;
+    }
+
+    // read a mask written as 7 ones and zeros from monday to sunday, like 1111100 for monday to friday
+    public static Workweek parse(String days) {
+        if (days.length() != 7) {
+            throw new IllegalArgumentException("a workweek is 7 ones and zeros from monday to sunday, got " + days);
+        }
+        int mask = 0;
+        for (int i = 0; i < 7; i++) {
+            char c = days.charAt(i);
+            if (c == '1') {
+                mask |= 1 << i;
+            } else if (c != '0') {
+                throw new IllegalArgumentException("a workweek is 7 ones and zeros from monday to sunday, got " + days);
+            }
+        }
+        return of(mask);
+    }
+
+    public int mask() {
+        return mask;
+    }
+
+    public int daysPerWeek() {
+        return daysPerWeek;
+    }
+
+    public boolean isWorkingDay(int dayOfWeek) {
+        return (mask & (1 << (dayOfWeek - EpochDays.MONDAY))) != 0;
+    }
+
+    public boolean isBusinessDay(int epochDay) {
+        return isWorkingDay(EpochDays.dayOfWeek(epochDay));
+    }
+
+    // move the given amount of working days away, an amount of 0 stays on the day
+    public int plus(int epochDay, int amount) {
+        if (amount > 0) {
+            return reaching(until(epochDay) + amount);
+        } else if (amount < 0) {
+            return reaching(until(epochDay - 1) + amount + 1);
+        }
+        return epochDay;
+    }
+
+    // working days after the start day up to and including the end day, negative if the end is before the start
+    public int between(int startDay, int endDay) {
+        return until(endDay) - until(startDay);
+    }
+
+    // working days from the monday before 1970-01-01 up to and including the given day
+    int until(int epochDay) {
+        // shift so that multiples of 7 fall on a monday, 1970-01-01 was a thursday
+        int day = epochDay + 3;
+        int weeks = EpochDays.floorDiv(day, 7);
+        return weeks * daysPerWeek + through[day - weeks * 7];
+    }
+
+    // the first day that until() reaches the given count on, which is always a working day
+    int reaching(int count) {
+        int weeks = EpochDays.floorDiv(count - 1, daysPerWeek);
+        return weeks * 7 + offsets[count - 1 - weeks * daysPerWeek] - 3;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof Workweek && ((Workweek) other).mask == mask;
+    }
+
+    @Override
+    public int hashCode() {
+        return mask;
+    }
+
+    @Override
+    public String toString() {
+        char[] days = new char[7];
+        for (int i = 0; i < 7; i++) {
+            days[i] = ((mask & (1 << i)) != 0) ? '1' : '0';
+        }
+        return new String(days);
+    }
+
+}
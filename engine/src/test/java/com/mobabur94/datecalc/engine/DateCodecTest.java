@@ -0,0 +1,118 @@
+package com.mobabur94.datecalc.engine;
+
+import org.junit.Test;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.time.LocalDate;
+import java.time.format.TextStyle;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.Locale;
+import java.util.TimeZone;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+// the dates against SimpleDateFormat with the pattern the app used before, on a gregorian calendar that goes all
+// the way back
+public class DateCodecTest {
+
+    private static final long MILLIS_PER_DAY = 24L * 60 * 60 * 1000;
+
+    private final DateCodec codec = new DateCodec(EpochDays.of(2016, 1, 1), 400);
+
+    @Test
+    public void formatAndParseMatchSimpleDateFormat() throws ParseException {
+        SimpleDateFormat format = simpleDateFormat();
+
+        // every day around now, with the leap days of 1900, 2000 and 2100 and the cached window
+        for (int day = EpochDays.of(1896, 1, 1); day <= EpochDays.of(2104, 12, 31); day++) {
+            assertMatches(format, day);
+        }
+
+        // and a spread of days over the years simple date format can write without an era
+        for (int day = EpochDays.of(1, 1, 1); day <= EpochDays.of(99999, 12, 31); day += 97) {
+            assertMatches(format, day);
+        }
+        assertMatches(format, EpochDays.of(1, 1, 1));
+        assertMatches(format, EpochDays.of(9999, 12, 31));
+        assertMatches(format, EpochDays.of(10000, 1, 1));
+    }
+
+    @Test
+    public void leapDays() throws ParseException {
+        assertEquals(EpochDays.of(2000, 2, 29), codec.parse("2000 Feb 29"));
+        assertEquals(EpochDays.of(2016, 2, 29), codec.parse("2016 feb 29 [Mon]"));
+        assertEquals("2400 Feb 29 [Tue]", codec.format(EpochDays.of(2400, 2, 29)));
+        assertRejected("1900 Feb 29");
+        assertRejected("2015 Feb 29 [Sun]");
+        assertRejected("2100 Feb 29");
+    }
+
+    @Test
+    public void bothEndsOfTheDayNumbers() throws ParseException {
+        int[] days = {Integer.MIN_VALUE, Integer.MIN_VALUE + 1, -719529, -719528, -1, 0, 1, Integer.MAX_VALUE - 1,
+                Integer.MAX_VALUE};
+        for (int day : days) {
+            LocalDate date = LocalDate.ofEpochDay(day);
+            String text = codec.format(day);
+            assertEquals(String.format(Locale.US, "%s%04d %s %02d [%s]", (date.getYear() < 0) ? "-" : "",
+                    Math.abs(date.getYear()), date.getMonth().getDisplayName(TextStyle.SHORT, Locale.US),
+                    date.getDayOfMonth(), date.getDayOfWeek().getDisplayName(TextStyle.SHORT, Locale.US)), text);
+            assertEquals(text, day, codec.parse(text));
+        }
+        assertEquals("5881580 Jul 11 [Fri]", codec.format(Integer.MAX_VALUE));
+        assertEquals("-5877641 Jun 23 [Tue]", codec.format(Integer.MIN_VALUE));
+        assertRejected("5881580 Jul 12");
+        assertRejected("-5877641 Jun 22");
+        assertRejected("99999999 Jan 01");
+        assertEquals("-0001 Dec 31 [Fri]", codec.format(EpochDays.of(-1, 12, 31)));
+        assertEquals("0000 Jan 01 [Sat]", codec.format(EpochDays.of(0, 1, 1)));
+    }
+
+    @Test
+    public void formatToWritesAtTheOffset() {
+        char[] buffer = new char[DateCodec.MAX_LENGTH + 3];
+        int length = codec.formatTo(Integer.MIN_VALUE, buffer, 3);
+        assertEquals(codec.format(Integer.MIN_VALUE), new String(buffer, 3, length));
+    }
+
+    @Test
+    public void malformedTextIsRejected() {
+        String[] texts = {"", " ", "2015", "2015 ", "2015 Apr", "2015 Apr ", "2015 Apr 6 [", "2015 Apr 06 [Mon",
+                "2015 Apr 06 Mon", "2015 Apr 06 [Mon] ", "2015 Apr 06 [Xyz]", "2015 Apr 06x", "2015 Apr 006",
+                "2015 Apr 00", "2015 Apr 31", "2015 Xyz 06", "2015-04-06", "2015  Apr 06", "-", "- 2015 Apr 06",
+                "Apr 06 2015", "2015 Ap 06", "1234567890 Jan 01"};
+        for (String text : texts) {
+            assertRejected(text);
+        }
+    }
+
+    private void assertMatches(SimpleDateFormat format, int day) throws ParseException {
+        Date date = new Date(day * MILLIS_PER_DAY);
+        String text = format.format(date);
+        assertEquals(text, codec.format(day));
+        assertEquals(text, day, codec.parse(text));
+        assertEquals(text, format.parse(text).getTime() / MILLIS_PER_DAY, codec.parse(text.substring(0, text.indexOf('[') - 1)));
+    }
+
+    private void assertRejected(String text) {
+        try {
+            codec.parse(text);
+            fail("parsed \"" + text + "\"");
+        } catch (ParseException expected) {
+            // the expected outcome
+        }
+    }
+
+    private static SimpleDateFormat simpleDateFormat() {
+        GregorianCalendar calendar = new GregorianCalendar(TimeZone.getTimeZone("UTC"), Locale.US);
+        calendar.setGregorianChange(new Date(Long.MIN_VALUE));
+        SimpleDateFormat format = new SimpleDateFormat("yyyy MMM dd [EEE]", Locale.US);
+        format.setCalendar(calendar);
+        format.setLenient(false);
+        return format;
+    }
+
+}
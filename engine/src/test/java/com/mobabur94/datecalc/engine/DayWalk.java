@@ -0,0 +1,38 @@
+package com.mobabur94.datecalc.engine;
+
+// the slow way the closed forms are checked against, stepping through the calendar one day at a time
+final class DayWalk {
+
+    // a few weeks either side of 1970-01-01, where the week shift and the floor division change sign
+    static final int FIRST = EpochDays.of(1969, 11, 1);
+    static final int LAST = EpochDays.of(1970, 3, 1);
+
+    // which days a walk counts
+    interface Counted {
+        boolean isCounted(int epochDay);
+    }
+
+    private DayWalk() { }
+
+    // step one day at a time, forwards or backwards, until the amount of counted days is used up
+    static int walk(Counted counted, int day, int amount) {
+        int step = (amount < 0) ? -1 : 1;
+        for (int left = Math.abs(amount); left > 0; ) {
+            day += step;
+            if (counted.isCounted(day)) {
+                left--;
+            }
+        }
+        return day;
+    }
+
+    static Counted businessDays(final Workweek workweek) {
+        return new Counted() {
+            @Override
+            public boolean isCounted(int epochDay) {
+                return workweek.isBusinessDay(epochDay);
+            }
+        };
+    }
+
+}
@@ -0,0 +1,94 @@
+package com.mobabur94.datecalc.engine;
+
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.time.Year;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+// the day number math against java.time, which counts days from 1970-01-01 the same way
+public class EpochDaysTest {
+
+    @Test
+    public void fieldsMatchLocalDate() {
+        int first = EpochDays.of(1599, 1, 1);
+        int last = EpochDays.of(2401, 12, 31);
+        for (int day = first; day <= last; day++) {
+            assertFields(day);
+        }
+
+        // far out, where the 400 year cycles and the floor division have to be right
+        for (long day = -300000000L; day <= 300000000L; day += 999983) {
+            assertFields((int) day);
+        }
+
+        // and the first and last day numbers, where shifting the day to the start of the cycle passes an int
+        for (int i = 0; i < 800; i++) {
+            assertFields(Integer.MIN_VALUE + i);
+            assertFields(Integer.MAX_VALUE - i);
+        }
+    }
+
+    @Test
+    public void ofIsTheInverseOfTheFields() {
+        for (int year = -1000; year <= 3000; year++) {
+            for (int month = 1; month <= 12; month++) {
+                int length = EpochDays.lengthOfMonth(year, month);
+                assertEquals(LocalDate.of(year, month, 1).lengthOfMonth(), length);
+                assertEquals(LocalDate.of(year, month, length).toEpochDay(), EpochDays.of(year, month, length));
+            }
+            assertEquals(Year.isLeap(year), EpochDays.isLeapYear(year));
+        }
+    }
+
+    @Test
+    public void plusMatchesLocalDate() {
+        int[] amounts = {-1201, -400, -13, -12, -11, -1, 0, 1, 11, 12, 13, 400, 1201};
+        for (int day = EpochDays.of(1999, 12, 1); day <= EpochDays.of(2001, 3, 31); day++) {
+            LocalDate date = LocalDate.ofEpochDay(day);
+            for (int years : amounts) {
+                assertEquals(date.plusYears(years).toEpochDay(), EpochDays.plusYears(day, years));
+                for (int months : amounts) {
+                    assertEquals(date.plusMonths(months).toEpochDay(), EpochDays.plusMonths(day, months));
+                    assertEquals(date.plusYears(years).plusMonths(months).plusDays(months * 31).toEpochDay(),
+                            EpochDays.plus(day, years, months, months * 31));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void plusThrowsPastTheDayNumbers() {
+        int day = EpochDays.of(2000, 1, 31);
+        int[][] amounts = {{Integer.MAX_VALUE, 0, 0}, {Integer.MIN_VALUE, 0, 0}, {0, Integer.MAX_VALUE, 0},
+                {Integer.MAX_VALUE, Integer.MAX_VALUE, 0}, {0, 0, Integer.MAX_VALUE}, {6000000, 0, 0}, {-6000000, 0, 0}};
+        for (int[] amount : amounts) {
+            try {
+                EpochDays.plus(day, amount[0], amount[1], amount[2]);
+                fail("added " + amount[0] + " years " + amount[1] + " months " + amount[2] + " days");
+            } catch (ArithmeticException expected) {
+                // out of range
+            }
+        }
+    }
+
+    @Test
+    public void plusReachesTheYearsAtTheEnds() {
+        int day = EpochDays.of(2000, 1, 1);
+        assertEquals(LocalDate.of(5881579, 1, 1).toEpochDay(), EpochDays.plusYears(day, 5881579 - 2000));
+        assertEquals(LocalDate.of(-5877640, 1, 1).toEpochDay(), EpochDays.plusYears(day, -5877640 - 2000));
+    }
+
+    private static void assertFields(int day) {
+        LocalDate date = LocalDate.ofEpochDay(day);
+        String message = date.toString();
+        assertEquals(message, date.getYear(), EpochDays.year(day));
+        assertEquals(message, date.getMonthValue(), EpochDays.month(day));
+        assertEquals(message, date.getDayOfMonth(), EpochDays.dayOfMonth(day));
+        assertEquals(message, date.getDayOfWeek().getValue(), EpochDays.dayOfWeek(day));
+        assertEquals(message, day, EpochDays.of(date.getYear(), date.getMonthValue(), date.getDayOfMonth()));
+    }
+
+}
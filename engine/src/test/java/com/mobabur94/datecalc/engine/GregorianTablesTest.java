@@ -0,0 +1,47 @@
+package com.mobabur94.datecalc.engine;
+
+import org.junit.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.Assert.assertEquals;
+
+// the tables against java.time and against the arithmetic in EpochDays
+public class GregorianTablesTest {
+
+    @Test
+    public void fieldsMatchLocalDate() {
+        // a little over a whole cycle either side of 1970, then far out in steps
+        for (int day = -150000; day <= 150000; day++) {
+            assertFields(day);
+        }
+        for (long day = -700000000L; day <= 700000000L; day += 1000003) {
+            assertFields((int) day);
+        }
+    }
+
+    @Test
+    public void ofMatchesEpochDays() {
+        for (int year = -801; year <= 2801; year++) {
+            for (int month = 1; month <= 12; month++) {
+                int length = EpochDays.lengthOfMonth(year, month);
+                assertEquals(EpochDays.of(year, month, 1), GregorianTables.of(year, month, 1));
+                assertEquals(EpochDays.of(year, month, length), GregorianTables.of(year, month, length));
+            }
+        }
+    }
+
+    private static void assertFields(int day) {
+        LocalDate date = LocalDate.ofEpochDay(day);
+        long fields = GregorianTables.fields(day);
+        String message = date.toString();
+        assertEquals(message, date.getYear(), Period.years(fields));
+        assertEquals(message, date.getMonthValue(), Period.months(fields));
+        assertEquals(message, date.getDayOfMonth(), Period.days(fields));
+        assertEquals(message, date.getDayOfWeek().getValue(), GregorianTables.dayOfWeek(fields));
+        assertEquals(message, date.getYear(), GregorianTables.year(day));
+        assertEquals(message, date.getMonthValue(), GregorianTables.month(day));
+        assertEquals(message, date.getDayOfMonth(), GregorianTables.dayOfMonth(day));
+    }
+
+}
@@ -0,0 +1,154 @@
+package com.mobabur94.datecalc.engine;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+// the holiday index against walking the calendar one day at a time
+public class HolidayCalendarTest {
+
+    private static final int[] MASKS = {
+            Workweek.MONDAY_TO_FRIDAY, Workweek.MONDAY_TO_SATURDAY, Workweek.SUNDAY_TO_THURSDAY,
+            Workweek.SATURDAY_TO_THURSDAY, 0x01, 0x55, 0x7F
+    };
+
+    // the holidays are picked in here, the days checked start a little before and end a little after it
+    private static final int FIRST = EpochDays.of(1969, 6, 1);
+    private static final int LAST = EpochDays.of(1970, 6, 1);
+
+    @Test
+    public void matchesWalk() {
+        Random random = new Random(4);
+        for (int mask : MASKS) {
+            Workweek workweek = Workweek.of(mask);
+
+            // runs of holidays, some of them on weekends and some given twice
+            boolean[] holiday = new boolean[LAST - FIRST + 1];
+            int[] holidays = new int[120];
+            for (int i = 0; i < holidays.length; ) {
+                int day = FIRST + random.nextInt(LAST - FIRST - 10);
+                for (int run = 1 + random.nextInt(4); run > 0 && i < holidays.length; run--, day++) {
+                    holidays[i++] = day;
+                    holiday[day - FIRST] = true;
+                }
+            }
+            HolidayCalendar calendar = new HolidayCalendar(holidays, workweek);
+            DayWalk.Counted counted = businessDays(workweek, holiday);
+
+            int working = 0;
+            for (int day = FIRST; day <= LAST; day++) {
+                boolean business = workweek.isBusinessDay(day) && !holiday[day - FIRST];
+                assertEquals(business, calendar.isBusinessDay(day));
+                assertEquals(workweek.isBusinessDay(day) && holiday[day - FIRST], calendar.isHoliday(day));
+                if (workweek.isBusinessDay(day) && holiday[day - FIRST]) {
+                    working++;
+                }
+            }
+            assertEquals(working, calendar.size());
+
+            for (int start = FIRST - 30; start <= LAST + 30; start += 3) {
+                int count = 0;
+                for (int end = start; end <= start + 90; end++) {
+                    if (end > start && counted.isCounted(end)) {
+                        count++;
+                    }
+                    assertEquals(mask + " " + start + ".." + end, count, calendar.between(start, end));
+                    assertEquals(-count, calendar.between(end, start));
+                }
+                for (int amount = -25; amount <= 25; amount++) {
+                    assertEquals(mask + " " + start + " + " + amount, DayWalk.walk(counted, start, amount), calendar.plus(start, amount));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void noneIsTheStandardWorkweek() {
+        for (int day = FIRST; day <= LAST; day++) {
+            assertEquals(Workweek.STANDARD.isBusinessDay(day), HolidayCalendar.NONE.isBusinessDay(day));
+            for (int amount = -12; amount <= 12; amount++) {
+                assertEquals(Workweek.STANDARD.plus(day, amount), HolidayCalendar.NONE.plus(day, amount));
+                assertEquals(Workweek.STANDARD.between(day, day + amount), HolidayCalendar.NONE.between(day, day + amount));
+            }
+        }
+    }
+
+    @Test
+    public void plusThrowsPastTheDayNumbers() {
+        HolidayCalendar calendar = HolidayCalendars.unitedStatesFederal(2000, 2001, Workweek.of(0x01));
+        int day = EpochDays.of(2000, 1, 1);
+        int[] amounts = {Integer.MAX_VALUE, Integer.MIN_VALUE, Integer.MAX_VALUE / 2, -Integer.MAX_VALUE / 2};
+        for (int amount : amounts) {
+            try {
+                calendar.plus(day, amount);
+                fail("added " + amount + " business days");
+            } catch (ArithmeticException expected) {
+                // out of range
+            }
+        }
+
+        // with one working day a week the last monday a week inside the ints is still reached
+        int lastMonday = Weekdays.onOrBefore(Integer.MAX_VALUE - 7, EpochDays.MONDAY);
+        assertEquals(lastMonday, calendar.plus(day, calendar.between(day, lastMonday)));
+    }
+
+    // 2021 has holidays on a saturday and a sunday, and new year's day of 2022 is observed on the last day of 2021
+    @Test
+    public void unitedStatesFederalObservesWeekendHolidaysOnAWeekday() {
+        HolidayCalendar calendar = HolidayCalendars.unitedStatesFederal(2021, 2022);
+        int[] expected = {
+                EpochDays.of(2021, 1, 1), EpochDays.of(2021, 1, 18), EpochDays.of(2021, 2, 15), EpochDays.of(2021, 5, 31),
+                EpochDays.of(2021, 6, 18), EpochDays.of(2021, 7, 5), EpochDays.of(2021, 9, 6), EpochDays.of(2021, 10, 11),
+                EpochDays.of(2021, 11, 11), EpochDays.of(2021, 11, 25), EpochDays.of(2021, 12, 24), EpochDays.of(2021, 12, 31)
+        };
+        int[] found = new int[expected.length];
+        int count = 0;
+        for (int day = EpochDays.of(2021, 1, 1); day <= EpochDays.of(2021, 12, 31); day++) {
+            if (calendar.isHoliday(day)) {
+                found[count++] = day;
+            }
+        }
+        assertEquals(Arrays.toString(expected), Arrays.toString(Arrays.copyOf(found, count)));
+    }
+
+    // the fixed dates before the monday holidays, veterans day in october and thanksgiving a week early
+    @Test
+    public void unitedStatesFederalFollowsTheRulesOfEachYear() {
+        assertHolidays(1940, EpochDays.of(1940, 1, 1), EpochDays.of(1940, 2, 22), EpochDays.of(1940, 5, 30), EpochDays.of(1940, 7, 4),
+                EpochDays.of(1940, 9, 2), EpochDays.of(1940, 10, 11), EpochDays.of(1940, 11, 11), EpochDays.of(1940, 11, 21),
+                EpochDays.of(1940, 12, 25));
+        assertHolidays(1970, EpochDays.of(1970, 1, 1), EpochDays.of(1970, 2, 23), EpochDays.of(1970, 5, 29), EpochDays.of(1970, 7, 3),
+                EpochDays.of(1970, 9, 7), EpochDays.of(1970, 10, 12), EpochDays.of(1970, 11, 11), EpochDays.of(1970, 11, 26),
+                EpochDays.of(1970, 12, 25));
+        assertHolidays(1975, EpochDays.of(1975, 1, 1), EpochDays.of(1975, 2, 17), EpochDays.of(1975, 5, 26), EpochDays.of(1975, 7, 4),
+                EpochDays.of(1975, 9, 1), EpochDays.of(1975, 10, 13), EpochDays.of(1975, 10, 27), EpochDays.of(1975, 11, 27),
+                EpochDays.of(1975, 12, 25));
+    }
+
+    private static void assertHolidays(int year, int... expected) {
+        HolidayCalendar calendar = HolidayCalendars.unitedStatesFederal(year, year + 1);
+        int[] found = new int[20];
+        int count = 0;
+        for (int day = EpochDays.of(year, 1, 1); day <= EpochDays.of(year, 12, 31); day++) {
+            if (calendar.isHoliday(day)) {
+                found[count++] = day;
+            }
+        }
+        assertEquals(Arrays.toString(expected), Arrays.toString(Arrays.copyOf(found, count)));
+    }
+
+    // the working days of the workweek that are not marked as holidays
+    private static DayWalk.Counted businessDays(final Workweek workweek, final boolean[] holiday) {
+        return new DayWalk.Counted() {
+            @Override
+            public boolean isCounted(int epochDay) {
+                return workweek.isBusinessDay(epochDay) && !(epochDay >= FIRST && epochDay <= LAST && holiday[epochDay - FIRST]);
+            }
+        };
+    }
+
+}
@@ -0,0 +1,58 @@
+package com.mobabur94.datecalc.engine;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class HolidayCalendarsTest {
+
+    @Test
+    public void readRulesFile() throws IOException {
+        HolidayCalendar calendar = HolidayCalendars.read(new StringReader(
+                "# weekends and holidays\n"
+                + "\n"
+                + "workweek 1111110   # saturdays are working days\n"
+                + "us-federal 2015 2016\n"
+                + "2015-12-24\n"
+                + "  2015-12-26  \n"
+                + "2015-12-25\n"));
+
+        assertEquals(Workweek.MONDAY_TO_SATURDAY, calendar.workweek().mask());
+        assertTrue(calendar.isHoliday(EpochDays.of(2015, 12, 24)));
+        assertTrue(calendar.isHoliday(EpochDays.of(2015, 12, 25)));
+        assertTrue(calendar.isHoliday(EpochDays.of(2015, 12, 26)));
+        assertTrue(calendar.isHoliday(EpochDays.of(2016, 7, 4)));
+        assertFalse(calendar.isHoliday(EpochDays.of(2017, 7, 4)));
+
+        // christmas is listed twice and only counted once
+        HolidayCalendar federal = HolidayCalendars.unitedStatesFederal(2015, 2016, Workweek.of(Workweek.MONDAY_TO_SATURDAY));
+        assertEquals(federal.size() + 2, calendar.size());
+    }
+
+    @Test
+    public void emptyRulesFileIsWeekendsOnly() throws IOException {
+        HolidayCalendar calendar = HolidayCalendars.read(new StringReader("# nothing\n"));
+        assertEquals(0, calendar.size());
+        assertEquals(Workweek.STANDARD, calendar.workweek());
+    }
+
+    @Test
+    public void badLinesNameTheLine() throws IOException {
+        String[] lines = {"workweek 1111", "us-federal 2000", "2015-02-29", "2015-2-1", "holiday 2015-01-01", "us-federal a b"};
+        for (String line : lines) {
+            try {
+                HolidayCalendars.read(new StringReader("workweek 1111100\n" + line + "\n"));
+                fail("read " + line);
+            } catch (IllegalArgumentException e) {
+                assertTrue(e.getMessage(), e.getMessage().startsWith("line 2: "));
+            }
+        }
+    }
+
+}
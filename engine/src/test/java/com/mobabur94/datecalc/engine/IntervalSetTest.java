@@ -0,0 +1,134 @@
+package com.mobabur94.datecalc.engine;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+// the ranges against a boolean for every day, after every add, remove and change of calendar
+public class IntervalSetTest {
+
+    private static final int DAYS = 600;
+    private static final int FIRST = EpochDays.of(2020, 1, 1);
+
+    @Test
+    public void matchesModel() {
+        Random random = new Random(23);
+        HolidayCalendar holidays = new HolidayCalendar(new int[] {FIRST + 10, FIRST + 50, FIRST + 51, FIRST + 300}, Workweek.of(0x3D));
+        for (int round = 0; round < 200; round++) {
+            HolidayCalendar calendar = (round % 2 == 0) ? HolidayCalendar.NONE : holidays;
+            IntervalSet set = new IntervalSet(calendar);
+            boolean[] model = new boolean[DAYS];
+            for (int step = 0; step < 150; step++) {
+                int from = random.nextInt(DAYS);
+                int to = Math.max(0, Math.min(DAYS - 1, from + random.nextInt(61) - 30));
+                boolean add = random.nextBoolean();
+                if (add) {
+                    set.add(FIRST + from, FIRST + to);
+                } else {
+                    set.remove(FIRST + from, FIRST + to);
+                }
+                for (int day = Math.min(from, to); day <= Math.max(from, to); day++) {
+                    model[day] = add;
+                }
+
+                if (step % 50 == 49) {
+                    calendar = (calendar == holidays) ? HolidayCalendar.NONE : holidays;
+                    set.setCalendar(calendar);
+                }
+                if (random.nextInt(100) == 0) {
+                    set.clear();
+                    Arrays.fill(model, false);
+                }
+                assertMatches(model, set, calendar, random);
+            }
+        }
+    }
+
+    @Test
+    public void touchingRangesMerge() {
+        IntervalSet set = new IntervalSet(HolidayCalendar.NONE);
+        set.add(10, 19);
+        set.add(30, 39);
+        set.add(20, 29);
+        assertEquals(1, set.size());
+        assertEquals(10, set.first(0));
+        assertEquals(39, set.last(0));
+
+        set.remove(25, 25);
+        assertEquals(2, set.size());
+        assertEquals(24, set.last(0));
+        assertEquals(26, set.first(1));
+        assertEquals(29, set.days());
+    }
+
+    @Test
+    public void rangesAtTheEndsOfTheDayNumbers() {
+        IntervalSet set = new IntervalSet(HolidayCalendar.NONE);
+        set.add(Integer.MAX_VALUE, Integer.MIN_VALUE + 1);
+        set.remove(0, 0);
+        assertEquals(2, set.size());
+        assertEquals(4294967294L, set.days());
+        assertEquals(10, set.days(-5, 5));
+        assertEquals(Integer.MAX_VALUE, set.last(1));
+    }
+
+    @Test
+    public void manySortedRanges() {
+        IntervalSet set = new IntervalSet(HolidayCalendar.NONE);
+        for (int i = 0; i < 100000; i++) {
+            set.add(3 * i, 3 * i + 1);
+        }
+        assertEquals(100000, set.size());
+        assertEquals(200000, set.days());
+        assertEquals(3 * 77777, set.first(77777));
+        assertEquals(2 * 50000 + 1, set.days(0, 3 * 50000));
+    }
+
+    private static void assertMatches(boolean[] model, IntervalSet set, HolidayCalendar calendar, Random random) {
+        // the ranges are the runs of true days, in order
+        int ranges = 0;
+        long days = 0;
+        long businessDays = 0;
+        for (int day = 0; day < DAYS; day++) {
+            assertEquals(model[day], set.contains(FIRST + day));
+            if (!model[day]) {
+                continue;
+            }
+            days++;
+            if (calendar.isBusinessDay(FIRST + day)) {
+                businessDays++;
+            }
+            if (day == 0 || !model[day - 1]) {
+                assertEquals(FIRST + day, set.first(ranges));
+            }
+            if (day == DAYS - 1 || !model[day + 1]) {
+                assertEquals(FIRST + day, set.last(ranges));
+                ranges++;
+            }
+        }
+        assertEquals(ranges, set.size());
+        assertEquals(days, set.days());
+        assertEquals(businessDays, set.businessDays());
+
+        for (int i = 0; i < 20; i++) {
+            int from = random.nextInt(DAYS + 20) - 10;
+            int to = random.nextInt(DAYS + 20) - 10;
+            long expectedDays = 0;
+            long expectedBusinessDays = 0;
+            for (int day = Math.max(0, from); day <= Math.min(DAYS - 1, to); day++) {
+                if (model[day]) {
+                    expectedDays++;
+                    if (calendar.isBusinessDay(FIRST + day)) {
+                        expectedBusinessDays++;
+                    }
+                }
+            }
+            assertEquals(expectedDays, set.days(FIRST + from, FIRST + to));
+            assertEquals(expectedBusinessDays, set.businessDays(FIRST + from, FIRST + to));
+        }
+    }
+
+}
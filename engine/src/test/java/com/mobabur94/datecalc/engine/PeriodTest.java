@@ -0,0 +1,53 @@
+package com.mobabur94.datecalc.engine;
+
+import org.junit.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.Assert.assertEquals;
+
+// the packed years, months and days against java.time.Period
+public class PeriodTest {
+
+    @Test
+    public void matchesJavaTime() {
+        // every start around two leap days and month ends, against every end up to a few years later
+        for (int start = EpochDays.of(1999, 12, 1); start <= EpochDays.of(2000, 3, 31); start++) {
+            for (int end = start; end <= start + 1500; end++) {
+                assertPeriod(start, end);
+            }
+        }
+        for (int start = EpochDays.of(1899, 1, 28); start <= EpochDays.of(1900, 3, 3); start += 3) {
+            for (int end = start; end <= start + 80000; end += 11) {
+                assertPeriod(start, end);
+            }
+        }
+    }
+
+    @Test
+    public void orderDoesNotMatter() {
+        int start = EpochDays.of(2012, 2, 29);
+        for (int end = start - 2000; end <= start + 2000; end++) {
+            assertEquals(Period.between(start, end), Period.between(end, start));
+        }
+    }
+
+    @Test
+    public void packsAndUnpacks() {
+        long period = Period.pack(123456, 11, 30);
+        assertEquals(123456, Period.years(period));
+        assertEquals(11, Period.months(period));
+        assertEquals(30, Period.days(period));
+        assertEquals(0L, Period.between(7, 7));
+    }
+
+    private static void assertPeriod(int start, int end) {
+        java.time.Period expected = java.time.Period.between(LocalDate.ofEpochDay(start), LocalDate.ofEpochDay(end));
+        long period = Period.between(start, end);
+        String message = LocalDate.ofEpochDay(start) + ".." + LocalDate.ofEpochDay(end);
+        assertEquals(message, expected.getYears(), Period.years(period));
+        assertEquals(message, expected.getMonths(), Period.months(period));
+        assertEquals(message, expected.getDays(), Period.days(period));
+    }
+
+}
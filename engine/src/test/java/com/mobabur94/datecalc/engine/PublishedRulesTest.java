@@ -0,0 +1,74 @@
+package com.mobabur94.datecalc.engine;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class PublishedRulesTest {
+
+    @Test
+    public void everyChangeIsOneVersion() {
+        PublishedRules rules = new PublishedRules(BusinessRules.DEFAULT);
+        HolidayCalendar holidays = HolidayCalendars.unitedStatesFederal(2000, 2001);
+
+        BusinessRules first = rules.publishBusinessMode(true);
+        assertEquals(1, first.version());
+        assertTrue(first.businessMode());
+        assertSame(HolidayCalendar.NONE, first.holidayCalendar());
+
+        BusinessRules second = rules.publishHolidayCalendar(holidays);
+        assertEquals(2, second.version());
+        assertTrue(second.businessMode());
+        assertSame(holidays, second.holidayCalendar());
+
+        // publishing what is already there is not a change
+        assertSame(second, rules.publish(true, holidays));
+        assertSame(second, rules.current());
+
+        BusinessRules third = rules.publish(false, HolidayCalendar.NONE);
+        assertEquals(3, third.version());
+        assertFalse(third.businessMode());
+        assertSame(third, rules.current());
+    }
+
+    @Test
+    public void concurrentChangesAreNeverLost() throws InterruptedException {
+        final PublishedRules rules = new PublishedRules(BusinessRules.DEFAULT);
+        final int threads = 4;
+        final int changes = 10000;
+        final CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+
+                    // every calendar is a new one, so every publish is a change
+                    for (int i = 0; i < changes; i++) {
+                        rules.publishHolidayCalendar(new HolidayCalendar(new int[] {i}));
+                    }
+                }
+            });
+            workers[t].start();
+        }
+        rules.publishBusinessMode(true);
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        assertEquals(threads * changes + 1, rules.current().version());
+        assertTrue(rules.current().businessMode());
+    }
+
+}
@@ -0,0 +1,108 @@
+package com.mobabur94.datecalc.engine;
+
+import org.junit.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+import static com.mobabur94.datecalc.engine.DayWalk.FIRST;
+import static com.mobabur94.datecalc.engine.DayWalk.LAST;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+// the modular arithmetic against java.time's adjusters and against counting one day at a time
+public class WeekdaysTest {
+
+    @Test
+    public void countMatchesWalk() {
+        for (int dayOfWeek = EpochDays.MONDAY; dayOfWeek <= EpochDays.SUNDAY; dayOfWeek++) {
+            for (int start = FIRST; start <= LAST; start++) {
+                int count = 0;
+                for (int end = start; end <= start + 40; end++) {
+                    if (end > start && EpochDays.dayOfWeek(end) == dayOfWeek) {
+                        count++;
+                    }
+                    assertEquals(count, Weekdays.count(start, end, dayOfWeek));
+                    assertEquals(-count, Weekdays.count(end, start, dayOfWeek));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void countsOfEveryDayOfTheWeekAddUp() {
+        for (int start = FIRST; start <= LAST; start += 5) {
+            for (int end = start - 50; end <= start + 50; end++) {
+                int total = 0;
+                for (int dayOfWeek = EpochDays.MONDAY; dayOfWeek <= EpochDays.SUNDAY; dayOfWeek++) {
+                    total += Weekdays.count(start, end, dayOfWeek);
+                }
+                assertEquals(end - start, total);
+            }
+        }
+    }
+
+    @Test
+    public void onOrAfterAndBeforeMatchJavaTime() {
+        for (int day = FIRST; day <= LAST; day++) {
+            LocalDate date = LocalDate.ofEpochDay(day);
+            for (int dayOfWeek = EpochDays.MONDAY; dayOfWeek <= EpochDays.SUNDAY; dayOfWeek++) {
+                assertEquals(date.with(TemporalAdjusters.nextOrSame(DayOfWeek.of(dayOfWeek))).toEpochDay(), Weekdays.onOrAfter(day, dayOfWeek));
+                assertEquals(date.with(TemporalAdjusters.previousOrSame(DayOfWeek.of(dayOfWeek))).toEpochDay(), Weekdays.onOrBefore(day, dayOfWeek));
+            }
+        }
+    }
+
+    @Test
+    public void inMonthMatchesJavaTime() {
+        for (int year = 1899; year <= 2101; year++) {
+            for (int month = 1; month <= 12; month++) {
+                LocalDate date = LocalDate.of(year, month, 1);
+                for (int dayOfWeek = EpochDays.MONDAY; dayOfWeek <= EpochDays.SUNDAY; dayOfWeek++) {
+                    for (int n = 1; n <= 5; n++) {
+                        LocalDate nth = date.with(TemporalAdjusters.dayOfWeekInMonth(n, DayOfWeek.of(dayOfWeek)));
+                        int expected = (nth.getMonthValue() == month) ? (int) nth.toEpochDay() : Weekdays.NONE;
+                        assertEquals(date + " " + n, expected, Weekdays.nthInMonth(year, month, dayOfWeek, n));
+                    }
+                    assertEquals(date.with(TemporalAdjusters.lastInMonth(DayOfWeek.of(dayOfWeek))).toEpochDay(),
+                            Weekdays.lastInMonth(year, month, dayOfWeek));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void nthInMonthRejectsN() {
+        for (int n : new int[] {-1, 0, 6}) {
+            try {
+                Weekdays.nthInMonth(2020, 1, EpochDays.MONDAY, n);
+                fail("found the " + n + "th monday");
+            } catch (IllegalArgumentException expected) {
+                // only a 1st to a 5th
+            }
+        }
+    }
+
+    @Test
+    public void businessDaysOfTheMonth() {
+        HolidayCalendar calendar = HolidayCalendars.unitedStatesFederal(2000, 2030);
+        for (int year = 2000; year <= 2030; year++) {
+            for (int month = 1; month <= 12; month++) {
+                int first = EpochDays.of(year, month, 1);
+                int last = EpochDays.of(year, month, EpochDays.lengthOfMonth(year, month));
+                int firstBusinessDay = first;
+                while (!calendar.isBusinessDay(firstBusinessDay)) {
+                    firstBusinessDay++;
+                }
+                int lastBusinessDay = last;
+                while (!calendar.isBusinessDay(lastBusinessDay)) {
+                    lastBusinessDay--;
+                }
+                assertEquals(firstBusinessDay, Weekdays.firstBusinessDay(year, month, calendar));
+                assertEquals(lastBusinessDay, Weekdays.lastBusinessDay(year, month, calendar));
+            }
+        }
+    }
+
+}
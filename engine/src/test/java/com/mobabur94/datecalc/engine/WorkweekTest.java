@@ -0,0 +1,83 @@
+package com.mobabur94.datecalc.engine;
+
+import org.junit.Test;
+
+import static com.mobabur94.datecalc.engine.DayWalk.FIRST;
+import static com.mobabur94.datecalc.engine.DayWalk.LAST;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+// every workweek there is against walking the calendar one day at a time
+public class WorkweekTest {
+
+    @Test
+    public void everyMaskMatchesWalk() {
+        for (int mask = 1; mask <= 0x7F; mask++) {
+            Workweek workweek = Workweek.of(mask);
+            assertEquals(Integer.bitCount(mask), workweek.daysPerWeek());
+            for (int start = FIRST; start <= LAST; start++) {
+                int count = 0;
+                for (int end = start; end <= start + 30; end++) {
+                    if (end > start && workweek.isBusinessDay(end)) {
+                        count++;
+                    }
+                    assertEquals(mask + " " + start + ".." + end, count, workweek.between(start, end));
+                }
+                for (int amount = -20; amount <= 20; amount++) {
+                    assertEquals(mask + " " + start + " + " + amount, DayWalk.walk(DayWalk.businessDays(workweek), start, amount),
+                            workweek.plus(start, amount));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void isWorkingDayFollowsTheMask() {
+        for (int mask = 1; mask <= 0x7F; mask++) {
+            Workweek workweek = Workweek.of(mask);
+            for (int day = FIRST; day < FIRST + 7; day++) {
+                int dayOfWeek = EpochDays.dayOfWeek(day);
+                assertEquals((mask & (1 << (dayOfWeek - 1))) != 0, workweek.isWorkingDay(dayOfWeek));
+                assertEquals(workweek.isWorkingDay(dayOfWeek), workweek.isBusinessDay(day));
+            }
+        }
+    }
+
+    @Test
+    public void standardSkipsSaturdayAndSunday() {
+        assertSame(Workweek.STANDARD, Workweek.of(Workweek.MONDAY_TO_FRIDAY));
+        for (int day = FIRST; day <= LAST; day++) {
+            int dayOfWeek = EpochDays.dayOfWeek(day);
+            assertEquals(dayOfWeek != EpochDays.SATURDAY && dayOfWeek != EpochDays.SUNDAY, Workweek.STANDARD.isBusinessDay(day));
+        }
+    }
+
+    // from a working day going back and forth are the same amount of working days
+    @Test
+    public void plusAndBetweenAgreeFarFromTheEpoch() {
+        for (int mask = 1; mask <= 0x7F; mask++) {
+            Workweek workweek = Workweek.of(mask);
+            int start = workweek.plus(EpochDays.of(2400, 2, 28), 1);
+            for (int amount = -100000; amount <= 100000; amount += 997) {
+                assertEquals(amount, workweek.between(start, workweek.plus(start, amount)));
+            }
+        }
+    }
+
+    @Test
+    public void parse() {
+        assertEquals(Workweek.MONDAY_TO_FRIDAY, Workweek.parse("1111100").mask());
+        assertEquals(Workweek.SUNDAY_TO_THURSDAY, Workweek.parse("1111001").mask());
+        assertEquals(Workweek.SATURDAY_TO_THURSDAY, Workweek.parse("1111011").mask());
+        for (String days : new String[] {"0000000", "111110", "11111000", "1111102"}) {
+            try {
+                Workweek.parse(days);
+                fail("parsed " + days);
+            } catch (IllegalArgumentException expected) {
+                // not a workweek
+            }
+        }
+    }
+
+}
@@ -0,0 +1,179 @@
+package com.mobabur94.datecalc.server;
+
+import com.mobabur94.datecalc.engine.EpochDays;
+import com.mobabur94.datecalc.engine.HolidayCalendar;
+import com.mobabur94.datecalc.engine.HolidayCalendars;
+import com.mobabur94.datecalc.engine.Period;
+import com.mobabur94.datecalc.engine.Workweek;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+// streams comma or tab separated rows through compare or add mode and writes each row back with its results appended
+//
+// compare rows are "start,end" and get "years,months,days,totalDays", or "businessDays" in business mode
+// add rows are "start,days" or "start,years,months,days" and get the resulting date, business mode only uses the days
+// dates are yyyy-MM-dd, empty lines and lines starting with # are copied as they are, rows that can not be read are
+// copied with an "error" field
+//
+// --workweek=1111100 sets the working days from monday to sunday, saturday and sunday are the weekend by default, and
+// --rules=file reads the weekends and holidays from a rules file like the one DateService watches instead
+public final class BatchRunner {
+
+    private static final byte[] ERROR = {'e', 'r', 'r', 'o', 'r'};
+
+    private final boolean compare;
+    private final boolean businessMode;
+    private final HolidayCalendar holidayCalendar;
+    private final RowParser parser = new RowParser();
+    private final int[] amounts = new int[3];
+    private long errors;
+
+    public BatchRunner(boolean compare, boolean businessMode, HolidayCalendar holidayCalendar) {
+        this.compare = compare;
+        this.businessMode = businessMode;
+        this.holidayCalendar = holidayCalendar;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3 || !(args[0].equals("compare") || args[0].equals("add"))) {
+            System.err.println("usage: BatchRunner compare|add [--business] [--us-holidays] [--workweek=1111100] [--rules=file] <input> <output>");
+            System.exit(2);
+        }
+
+        // read the options between the mode and the files
+        boolean businessMode = false;
+        boolean usHolidays = false;
+        Workweek workweek = Workweek.STANDARD;
+        String rulesFile = null;
+        for (int i = 1; i < args.length - 2; i++) {
+            if (args[i].equals("--business")) {
+                businessMode = true;
+            } else if (args[i].equals("--us-holidays")) {
+                usHolidays = true;
+            } else if (args[i].startsWith("--workweek=")) {
+                workweek = Workweek.parse(args[i].substring("--workweek=".length()));
+            } else if (args[i].startsWith("--rules=")) {
+                rulesFile = args[i].substring("--rules=".length());
+            } else {
+                System.err.println("unknown option " + args[i]);
+                System.exit(2);
+            }
+        }
+
+        HolidayCalendar holidayCalendar;
+        if (rulesFile != null) {
+            holidayCalendar = RulesWatcher.load(Paths.get(rulesFile));
+        } else {
+            holidayCalendar = (usHolidays) ? HolidayCalendars.unitedStatesFederal(1900, 2199, workweek) : new HolidayCalendar(new int[0], workweek);
+        }
+
+        BatchRunner runner = new BatchRunner(args[0].equals("compare"), businessMode, holidayCalendar);
+        long started = System.nanoTime();
+        long rows = runner.run(Paths.get(args[args.length - 2]), Paths.get(args[args.length - 1]));
+        long millis = (System.nanoTime() - started) / 1000000;
+        System.err.println(rows + " rows in " + millis + " ms, " + runner.errors + " errors");
+    }
+
+    // process a whole file, returning the amount of lines read
+    public long run(Path input, Path output) throws IOException {
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            return run(in, out, ChunkedLines.CHUNK_SIZE, 1024 * 1024);
+        }
+    }
+
+    // process every line of a channel, writing out the results whenever the output buffer fills up
+    public long run(ReadableByteChannel in, WritableByteChannel out, int chunkSize, int bufferSize) throws IOException {
+        final ByteSink sink = new ByteSink(out, bufferSize);
+        long lines = ChunkedLines.forEach(in, chunkSize, new ChunkedLines.Handler() {
+            @Override
+            public void line(byte[] bytes, int start, int end) throws IOException {
+                row(bytes, start, end, sink);
+            }
+        });
+        sink.flush();
+        return lines;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    private void row(byte[] bytes, int start, int end, ByteSink sink) throws IOException {
+        sink.put(bytes, start, end);
+
+        // copy comments and blank lines through
+        if (start == end || bytes[start] == '#') {
+            sink.put((byte) '\n');
+            return;
+        }
+
+        // use the row's own separator for the results
+        byte separator = (byte) ',';
+        for (int i = start; i < end; i++) {
+            if (bytes[i] == '\t') {
+                separator = '\t';
+                break;
+            }
+        }
+
+        parser.reset(bytes, start, end);
+        int startDay = parser.nextDate();
+        if (compare) {
+            int endDay = parser.nextDate();
+            if (!parser.isValid() || parser.hasMore()) {
+                error(sink, separator);
+                return;
+            }
+
+            // order the days like the compare mode does
+            int day1 = Math.min(startDay, endDay);
+            int day2 = Math.max(startDay, endDay);
+            if (businessMode) {
+                sink.put(separator).putInt(holidayCalendar.between(day1, day2));
+            } else {
+                long period = Period.between(day1, day2);
+                sink.put(separator).putInt(Period.years(period));
+                sink.put(separator).putInt(Period.months(period));
+                sink.put(separator).putInt(Period.days(period));
+                sink.put(separator).putInt(EpochDays.daysBetween(day1, day2));
+            }
+        } else {
+            // read one amount of days, or years months and days
+            int count = 0;
+            while (parser.hasMore() && count < amounts.length) {
+                amounts[count++] = parser.nextInt();
+            }
+            if (!parser.isValid() || parser.hasMore() || (count != 1 && count != 3)) {
+                error(sink, separator);
+                return;
+            }
+            int years = (count == 3) ? amounts[0] : 0;
+            int months = (count == 3) ? amounts[1] : 0;
+            int days = amounts[count - 1];
+
+            int resultDay;
+            try {
+                resultDay = businessMode ? holidayCalendar.plus(startDay, days) : EpochDays.plus(startDay, years, months, days);
+            } catch (ArithmeticException e) {
+                // the amounts move the date past what a day number holds, in either mode
+                error(sink, separator);
+                return;
+            }
+            sink.put(separator).putDate(resultDay);
+        }
+        sink.put((byte) '\n');
+    }
+
+    private void error(ByteSink sink, byte separator) throws IOException {
+        errors++;
+        sink.put(separator).put(ERROR).put((byte) '\n');
+    }
+
+}
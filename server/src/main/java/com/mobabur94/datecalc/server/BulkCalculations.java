@@ -0,0 +1,179 @@
+package com.mobabur94.datecalc.server;
+
+import com.mobabur94.datecalc.engine.EpochDays;
+import com.mobabur94.datecalc.engine.GregorianTables;
+import com.mobabur94.datecalc.engine.HolidayCalendar;
+import com.mobabur94.datecalc.engine.Period;
+import com.mobabur94.datecalc.engine.Weekdays;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// day counts and day amounts over whole columns of day numbers, split across a fork/join pool
+//
+// every method fills the output array in place and nothing is allocated per element, only one task per split; these
+// work in days only, like the total days of compare mode and add mode with only the days picker moved, the years,
+// months and days of the fragments are left to Period and EpochDays.plus
+public final class BulkCalculations {
+
+    // below this many elements a task works through its slice instead of splitting further
+    private static final int MIN_SLICE = 16 * 1024;
+
+    private final ForkJoinPool pool;
+    private final HolidayCalendar holidayCalendar;
+
+    public BulkCalculations(ForkJoinPool pool, HolidayCalendar holidayCalendar) {
+        this.pool = pool;
+        this.holidayCalendar = holidayCalendar;
+    }
+
+    // use every core and skip only weekends in business mode
+    public BulkCalculations() {
+        this(ForkJoinPool.commonPool(), HolidayCalendar.NONE);
+    }
+
+    // the total days, or business days in business mode, between each pair in either order
+    public void daysBetween(int[] startDays, int[] endDays, int[] out, boolean businessMode) {
+        run(businessMode ? Operation.BUSINESS_DAYS_BETWEEN : Operation.DAYS_BETWEEN, startDays, endDays, out, 0, 0);
+    }
+
+    // the day each start lands on after adding its amount of days, or business days in business mode
+    public void plusDays(int[] startDays, int[] amounts, int[] out, boolean businessMode) {
+        run(businessMode ? Operation.PLUS_BUSINESS_DAYS : Operation.PLUS_DAYS, startDays, amounts, out, 0, 0);
+    }
+
+    // how many of the given day of the week come after the earlier day of each pair up to and including the later one
+    public void weekdays(int[] startDays, int[] endDays, int dayOfWeek, int[] out) {
+        run(Operation.WEEKDAYS, startDays, endDays, out, dayOfWeek, 0);
+    }
+
+    // the nth (from 1 to 5) given day of the week in the month of each day, or Weekdays.NONE where the month does not
+    // have a 5th one
+    public void nthWeekdayOfMonth(int[] days, int dayOfWeek, int n, int[] out) {
+        if (n < 1 || n > 5) {
+            throw new IllegalArgumentException("n has to be from 1 to 5, not " + n);
+        }
+        run(Operation.NTH_WEEKDAY_OF_MONTH, days, days, out, dayOfWeek, n);
+    }
+
+    // the last given day of the week in the month of each day
+    public void lastWeekdayOfMonth(int[] days, int dayOfWeek, int[] out) {
+        run(Operation.LAST_WEEKDAY_OF_MONTH, days, days, out, dayOfWeek, 0);
+    }
+
+    // the last day of the month of each day that is not a weekend or a holiday
+    public void lastBusinessDayOfMonth(int[] days, int[] out) {
+        run(Operation.LAST_BUSINESS_DAY_OF_MONTH, days, days, out, 0, 0);
+    }
+
+    private void run(Operation operation, int[] first, int[] second, int[] out, int dayOfWeek, int n) {
+        if (first.length != second.length || first.length != out.length) {
+            throw new IllegalArgumentException("columns have different lengths");
+        }
+
+        // aim for a few slices per worker so that uneven workers can steal from each other
+        int slice = Math.max(MIN_SLICE, first.length / (pool.getParallelism() * 4) + 1);
+        pool.invoke(new Slice(operation, holidayCalendar, first, second, out, dayOfWeek, n, 0, first.length, slice));
+    }
+
+    private enum Operation {
+        DAYS_BETWEEN, BUSINESS_DAYS_BETWEEN, PLUS_DAYS, PLUS_BUSINESS_DAYS, WEEKDAYS, NTH_WEEKDAY_OF_MONTH, LAST_WEEKDAY_OF_MONTH,
+        LAST_BUSINESS_DAY_OF_MONTH
+    }
+
+    private static final class Slice extends RecursiveAction {
+
+        // a fork/join task is serializable through RecursiveAction, but a slice is never serialized
+        private static final long serialVersionUID = 1L;
+
+        private final Operation operation;
+        private final HolidayCalendar holidayCalendar;
+        private final int[] first;
+        private final int[] second;
+        private final int[] out;
+        private final int dayOfWeek;
+        private final int n;
+        private final int from;
+        private final int to;
+        private final int slice;
+
+        Slice(Operation operation, HolidayCalendar holidayCalendar, int[] first, int[] second, int[] out, int dayOfWeek, int n, int from, int to, int slice) {
+            this.operation = operation;
+            this.holidayCalendar = holidayCalendar;
+            this.first = first;
+            this.second = second;
+            this.out = out;
+            this.dayOfWeek = dayOfWeek;
+            this.n = n;
+            this.from = from;
+            this.to = to;
+            this.slice = slice;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= slice) {
+                computeDirectly();
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new Slice(operation, holidayCalendar, first, second, out, dayOfWeek, n, from, middle, slice),
+                    new Slice(operation, holidayCalendar, first, second, out, dayOfWeek, n, middle, to, slice));
+        }
+
+        // one tight loop per operation so the check is made once per slice rather than once per element
+        private void computeDirectly() {
+            switch (operation) {
+                case DAYS_BETWEEN:
+                    for (int i = from; i < to; i++) {
+                        out[i] = Math.abs(EpochDays.daysBetween(first[i], second[i]));
+                    }
+                    break;
+                case BUSINESS_DAYS_BETWEEN:
+                    for (int i = from; i < to; i++) {
+                        out[i] = holidayCalendar.between(Math.min(first[i], second[i]), Math.max(first[i], second[i]));
+                    }
+                    break;
+                case PLUS_DAYS:
+                    for (int i = from; i < to; i++) {
+                        out[i] = first[i] + second[i];
+                    }
+                    break;
+                case PLUS_BUSINESS_DAYS:
+                    for (int i = from; i < to; i++) {
+                        out[i] = holidayCalendar.plus(first[i], second[i]);
+                    }
+                    break;
+                case WEEKDAYS:
+                    for (int i = from; i < to; i++) {
+                        out[i] = Weekdays.count(Math.min(first[i], second[i]), Math.max(first[i], second[i]), dayOfWeek);
+                    }
+                    break;
+                case NTH_WEEKDAY_OF_MONTH:
+                    // the month's first and last days come from the day itself, the tables give all its fields at once
+                    for (int i = from; i < to; i++) {
+                        long fields = GregorianTables.fields(first[i]);
+                        int firstOfMonth = first[i] - Period.days(fields) + 1;
+                        int day = Weekdays.onOrAfter(firstOfMonth, dayOfWeek) + (n - 1) * 7;
+                        out[i] = (day - firstOfMonth < EpochDays.lengthOfMonth(Period.years(fields), Period.months(fields))) ? day : Weekdays.NONE;
+                    }
+                    break;
+                case LAST_WEEKDAY_OF_MONTH:
+                    for (int i = from; i < to; i++) {
+                        long fields = GregorianTables.fields(first[i]);
+                        int last = first[i] - Period.days(fields) + EpochDays.lengthOfMonth(Period.years(fields), Period.months(fields));
+                        out[i] = Weekdays.onOrBefore(last, dayOfWeek);
+                    }
+                    break;
+                case LAST_BUSINESS_DAY_OF_MONTH:
+                    for (int i = from; i < to; i++) {
+                        long fields = GregorianTables.fields(first[i]);
+                        int last = first[i] - Period.days(fields) + EpochDays.lengthOfMonth(Period.years(fields), Period.months(fields));
+                        out[i] = holidayCalendar.isBusinessDay(last) ? last : holidayCalendar.plus(last, -1);
+                    }
+                    break;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,108 @@
+package com.mobabur94.datecalc.server;
+
+import com.mobabur94.datecalc.engine.EpochDays;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+// buffered ascii output, writing numbers and dates straight into a byte array without making any strings
+public final class ByteSink {
+
+    // room for the longest number or date written in one go
+    private static final int MAX_FIELD = 20;
+
+    private final WritableByteChannel channel;
+    private final byte[] bytes;
+    private final ByteBuffer wrapper;
+    private int count;
+
+    public ByteSink(WritableByteChannel channel, int capacity) {
+        this.channel = channel;
+        this.bytes = new byte[Math.max(capacity, MAX_FIELD)];
+        this.wrapper = ByteBuffer.wrap(bytes);
+    }
+
+    public ByteSink put(byte b) throws IOException {
+        ensure(1);
+        bytes[count++] = b;
+        return this;
+    }
+
+    public ByteSink put(byte[] source) throws IOException {
+        return put(source, 0, source.length);
+    }
+
+    // copy bytes from an array, from start up to (not including) end
+    public ByteSink put(byte[] source, int start, int end) throws IOException {
+        while (start < end) {
+            ensure(1);
+            int length = Math.min(end - start, bytes.length - count);
+            System.arraycopy(source, start, bytes, count, length);
+            count += length;
+            start += length;
+        }
+        return this;
+    }
+
+    public ByteSink putInt(int value) throws IOException {
+        ensure(MAX_FIELD);
+        long v = value;
+        if (v < 0) {
+            bytes[count++] = '-';
+            v = -v;
+        }
+
+        // write the digits backwards from the end of the number
+        int length = 1;
+        for (long rest = v / 10; rest > 0; rest /= 10) {
+            length++;
+        }
+        for (int i = count + length - 1; i >= count; i--) {
+            bytes[i] = (byte) ('0' + v % 10);
+            v /= 10;
+        }
+        count += length;
+        return this;
+    }
+
+    // write a day number as yyyy-MM-dd
+    public ByteSink putDate(int epochDay) throws IOException {
+        ensure(MAX_FIELD);
+        int year = EpochDays.year(epochDay);
+        if (year < 0 || year > 9999) {
+            putInt(year);
+        } else {
+            putDigits(year, 4);
+        }
+        bytes[count++] = '-';
+        putDigits(EpochDays.month(epochDay), 2);
+        bytes[count++] = '-';
+        putDigits(EpochDays.dayOfMonth(epochDay), 2);
+        return this;
+    }
+
+    public void flush() throws IOException {
+        wrapper.clear();
+        wrapper.limit(count);
+        while (wrapper.hasRemaining()) {
+            channel.write(wrapper);
+        }
+        count = 0;
+    }
+
+    private void putDigits(int value, int width) {
+        for (int i = count + width - 1; i >= count; i--) {
+            bytes[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        count += width;
+    }
+
+    private void ensure(int length) throws IOException {
+        if (bytes.length - count < length) {
+            flush();
+        }
+    }
+
+}
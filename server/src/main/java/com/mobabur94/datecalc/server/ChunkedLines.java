@@ -0,0 +1,68 @@
+package com.mobabur94.datecalc.server;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+// walks the lines of a channel through one reusable chunk, so any file size is read in constant memory
+public final class ChunkedLines {
+
+    // handles one line, the bytes from start up to (not including) end, without the line break
+    public interface Handler {
+        void line(byte[] bytes, int start, int end) throws IOException;
+    }
+
+    // the default chunk size, a line and its line break have to fit in one chunk
+    public static final int CHUNK_SIZE = 4 * 1024 * 1024;
+
+    private ChunkedLines() { }
+
+    public static long forEach(ReadableByteChannel channel, Handler handler) throws IOException {
+        return forEach(channel, CHUNK_SIZE, handler);
+    }
+
+    // returns the amount of lines handled, a line that fills the whole chunk fails with an IOException before it is
+    // handled, even the last one without a line break since the end of the channel is not known yet
+    public static long forEach(ReadableByteChannel channel, int chunkSize, Handler handler) throws IOException {
+        byte[] bytes = new byte[chunkSize];
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        long lines = 0;
+        boolean last = false;
+        while (!last) {
+            // fill the chunk after whatever is left of the previous one
+            while (buffer.hasRemaining() && !last) {
+                last = channel.read(buffer) < 0;
+            }
+            int length = buffer.position();
+
+            // hand over every complete line, and every line at all once the channel is done
+            int lineStart = 0;
+            for (int i = 0; i < length; i++) {
+                if (bytes[i] == '\n') {
+                    handler.line(bytes, lineStart, trimCarriageReturn(bytes, lineStart, i));
+                    lineStart = i + 1;
+                    lines++;
+                }
+            }
+            if (lineStart == 0 && length == bytes.length && !last) {
+                throw new IOException("line " + (lines + 1) + " is longer than the chunk of " + chunkSize + " bytes");
+            }
+            if (lineStart < length && last) {
+                handler.line(bytes, lineStart, trimCarriageReturn(bytes, lineStart, length));
+                lineStart = length;
+                lines++;
+            }
+
+            // move the unfinished line to the front of the chunk
+            System.arraycopy(bytes, lineStart, bytes, 0, length - lineStart);
+            buffer.clear();
+            buffer.position(length - lineStart);
+        }
+        return lines;
+    }
+
+    private static int trimCarriageReturn(byte[] bytes, int start, int end) {
+        return (end > start && bytes[end - 1] == '\r') ? end - 1 : end;
+    }
+
+}
@@ -0,0 +1,169 @@
+package com.mobabur94.datecalc.server;
+
+import com.mobabur94.datecalc.engine.EpochDays;
+import com.mobabur94.datecalc.engine.HolidayCalendar;
+
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+// lazy streams of the day numbers in a range of dates, the start and end included
+//
+// each kind of date is counted with a function that gives the amount of matching days up to a day and one that goes
+// back from a count to its day, so a range is just a span of counts: it is exactly sized, splits in half by count for
+// parallel streams, and nothing but the span is ever held in memory
+public final class DateRanges {
+
+    private DateRanges() { }
+
+    // every day
+    public static IntStream days(int startDay, int endDay) {
+        return stream(new Sequence() {
+            @Override
+            long count(int epochDay) {
+                return epochDay;
+            }
+
+            @Override
+            int nth(long count) {
+                return (int) count;
+            }
+        }, startDay, endDay);
+    }
+
+    // every day that falls on the given day of the week, monday to sunday as in EpochDays
+    public static IntStream weekdays(int startDay, int endDay, int dayOfWeek) {
+        if (dayOfWeek < EpochDays.MONDAY || dayOfWeek > EpochDays.SUNDAY) {
+            throw new IllegalArgumentException("day of the week has to be 1 to 7, got " + dayOfWeek);
+        }
+
+        // the first day with that day of the week on or after 1970-01-01, which was a thursday
+        final int first = Math.floorMod(dayOfWeek - EpochDays.THURSDAY, 7);
+        return stream(new Sequence() {
+            @Override
+            long count(int epochDay) {
+                return Math.floorDiv((long) epochDay - first, 7) + 1;
+            }
+
+            @Override
+            int nth(long count) {
+                return (int) (first + (count - 1) * 7);
+            }
+        }, startDay, endDay);
+    }
+
+    // every business day, skipping the calendar's weekends and holidays
+    public static IntStream businessDays(int startDay, int endDay, final HolidayCalendar holidayCalendar) {
+        // count from the first business day of the range, between and plus are already the count and its inverse
+        final int origin = holidayCalendar.plus(startDay - 1, 1);
+        return stream(new Sequence() {
+            @Override
+            long count(int epochDay) {
+                return holidayCalendar.between(origin, epochDay);
+            }
+
+            @Override
+            int nth(long count) {
+                return holidayCalendar.plus(origin, (int) count);
+            }
+        }, startDay, endDay);
+    }
+
+    // the last day of every month
+    public static IntStream monthEnds(int startDay, int endDay) {
+        return stream(new Sequence() {
+            @Override
+            long count(int epochDay) {
+                int year = EpochDays.year(epochDay);
+                int month = EpochDays.month(epochDay);
+                long months = year * 12L + month - 1;
+                return (EpochDays.dayOfMonth(epochDay) == EpochDays.lengthOfMonth(year, month)) ? months + 1 : months;
+            }
+
+            @Override
+            int nth(long count) {
+                // the day before the first of the month after
+                return EpochDays.of((int) Math.floorDiv(count, 12), (int) Math.floorMod(count, 12) + 1, 1) - 1;
+            }
+        }, startDay, endDay);
+    }
+
+    private static IntStream stream(Sequence sequence, int startDay, int endDay) {
+        if (endDay < startDay) {
+            return IntStream.empty();
+        }
+        return StreamSupport.intStream(new DaySpliterator(sequence, sequence.count(startDay - 1) + 1, sequence.count(endDay) + 1), false);
+    }
+
+    // one kind of date, where nth(count(day)) is the latest matching day on or before the day
+    private abstract static class Sequence {
+        // matching days up to and including the day, counted from any fixed point
+        abstract long count(int epochDay);
+
+        // the matching day that count() first reaches the given count on
+        abstract int nth(long count);
+    }
+
+    // walks the counts from index up to but not including fence
+    private static final class DaySpliterator implements Spliterator.OfInt {
+
+        private final Sequence sequence;
+        private long index;
+        private final long fence;
+
+        DaySpliterator(Sequence sequence, long index, long fence) {
+            this.sequence = sequence;
+            this.index = index;
+            this.fence = fence;
+        }
+
+        @Override
+        public boolean tryAdvance(IntConsumer action) {
+            if (index >= fence) {
+                return false;
+            }
+            action.accept(sequence.nth(index++));
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(IntConsumer action) {
+            long i = index;
+            index = fence;
+            for (; i < fence; i++) {
+                action.accept(sequence.nth(i));
+            }
+        }
+
+        // hand off the first half by count, so both halves hold the same amount of dates
+        @Override
+        public Spliterator.OfInt trySplit() {
+            long mid = index + (fence - index) / 2;
+            if (mid <= index) {
+                return null;
+            }
+            DaySpliterator prefix = new DaySpliterator(sequence, index, mid);
+            index = mid;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | DISTINCT | SORTED | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+        }
+
+        // sorted in natural order
+        @Override
+        public Comparator<? super Integer> getComparator() {
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,324 @@
+package com.mobabur94.datecalc.server;
+
+import com.mobabur94.datecalc.engine.BusinessRules;
+import com.mobabur94.datecalc.engine.EpochDays;
+import com.mobabur94.datecalc.engine.HolidayCalendar;
+import com.mobabur94.datecalc.engine.HolidayCalendars;
+import com.mobabur94.datecalc.engine.Period;
+import com.mobabur94.datecalc.engine.PublishedRules;
+import com.mobabur94.datecalc.engine.Workweek;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// compare and add mode as a small http service on localhost, with one virtual thread per request where the jdk has them
+//
+//   GET  /compare?start=2015-01-01&end=2015-03-01[&business=true]      years,months,days,totalDays or businessDays
+//   GET  /add?start=2015-01-01&days=30[&years=1&months=2][&business=true]   the resulting date
+//   POST /batch?mode=compare|add[&business=true]   rows as for BatchRunner, the response is streamed as rows finish
+//
+// dates are yyyy-MM-dd and business mode only uses the days when adding, like the fragments do
+//
+// every response has an X-Rules-Version header with the version of the weekends and holidays it was calculated with,
+// which change without a restart when they come from a --rules file; business mode still comes with each request
+public final class DateService {
+
+    private static final String RULES_VERSION = "X-Rules-Version";
+
+    // batch requests read and write through small buffers so thousands of rows start streaming back right away
+    private static final int BATCH_CHUNK = 64 * 1024;
+    private static final int BATCH_BUFFER = 16 * 1024;
+
+    // the jdk server writes the headers and the body separately, without this nagle holds the body back until the client
+    // acknowledges the headers, which adds ~40 ms to every response on a kept alive connection
+    static {
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final PublishedRules rules;
+    private final long cacheBytes;
+
+    // the cache of the rules version it was made for, business results depend on the holidays so a new version starts
+    // a new cache
+    private volatile VersionedCache cache;
+
+    // the cache is optional, pass 0 bytes to calculate every request
+    public DateService(PublishedRules rules, long cacheBytes) {
+        if (cacheBytes != 0 && cacheBytes < ResultCache.MIN_BYTES) {
+            throw new IllegalArgumentException("cache of " + cacheBytes + " bytes is smaller than the " + ResultCache.MIN_BYTES + " bytes it needs");
+        }
+        this.rules = rules;
+        this.cacheBytes = cacheBytes;
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = 8080;
+        boolean usHolidays = false;
+        Workweek workweek = Workweek.STANDARD;
+        String rulesFile = null;
+        long cacheBytes = 0;
+        for (String arg : args) {
+            if (arg.startsWith("--port=")) {
+                port = Integer.parseInt(arg.substring("--port=".length()));
+            } else if (arg.equals("--us-holidays")) {
+                usHolidays = true;
+            } else if (arg.startsWith("--workweek=")) {
+                workweek = Workweek.parse(arg.substring("--workweek=".length()));
+            } else if (arg.startsWith("--rules=")) {
+                rulesFile = arg.substring("--rules=".length());
+            } else if (arg.startsWith("--cache-mb=")) {
+                cacheBytes = Long.parseLong(arg.substring("--cache-mb=".length())) * 1024 * 1024;
+            } else {
+                System.err.println("usage: DateService [--port=8080] [--us-holidays] [--workweek=1111100] [--rules=file] [--cache-mb=0]");
+                System.exit(2);
+            }
+        }
+
+        // a rules file takes the place of --us-holidays and --workweek, and is reloaded whenever it changes
+        PublishedRules rules = new PublishedRules(BusinessRules.DEFAULT);
+        if (rulesFile != null) {
+            new RulesWatcher(Paths.get(rulesFile), rules).start();
+        } else {
+            rules.publishHolidayCalendar((usHolidays) ? HolidayCalendars.unitedStatesFederal(1900, 2199, workweek) : new HolidayCalendar(new int[0], workweek));
+        }
+        DateService service = new DateService(rules, cacheBytes);
+
+        ExecutorService executor = requestExecutor();
+        HttpServer server = service.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), executor);
+        System.err.println("listening on http://localhost:" + server.getAddress().getPort() + "/ with " + executorName(executor)
+                + ", rules version " + rules.current().version());
+    }
+
+    // only binds to the given address, use the loopback address to keep it local
+    public HttpServer start(InetSocketAddress address, ExecutorService executor) throws IOException {
+        HttpServer server = HttpServer.create(address, 1024);
+        server.createContext("/compare", new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                compare(exchange);
+            }
+        });
+        server.createContext("/add", new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                add(exchange);
+            }
+        });
+        server.createContext("/batch", new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                batch(exchange);
+            }
+        });
+        server.setExecutor(executor);
+        server.start();
+        return server;
+    }
+
+    // a virtual thread per task on java 21 and later, found by reflection since this builds for java 8
+    public static ExecutorService requestExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            final AtomicInteger count = new AtomicInteger();
+            return Executors.newCachedThreadPool(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, "request-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+    }
+
+    private static String executorName(ExecutorService executor) {
+        return executor.getClass().getSimpleName().contains("ThreadPerTask") ? "virtual threads" : "a cached thread pool";
+    }
+
+    private void compare(HttpExchange exchange) throws IOException {
+        Map<String, String> query = query(exchange.getRequestURI());
+        int startDay = date(query.get("start"));
+        int endDay = date(query.get("end"));
+        if (startDay == Integer.MIN_VALUE || endDay == Integer.MIN_VALUE) {
+            respond(exchange, 400, "error\n");
+            return;
+        }
+
+        BusinessRules snapshot = rules.current();
+        ResultCache cache = cache(snapshot);
+        exchange.getResponseHeaders().set(RULES_VERSION, Integer.toString(snapshot.version()));
+        if (isBusiness(query)) {
+            respond(exchange, 200, difference(startDay, endDay, true, snapshot, cache) + "\n");
+        } else {
+            long period = (cache != null) ? cache.period(startDay, endDay) : Period.between(startDay, endDay);
+            respond(exchange, 200, Period.years(period) + "," + Period.months(period) + "," + Period.days(period) + "," + difference(startDay, endDay, false, snapshot, cache) + "\n");
+        }
+    }
+
+    private void add(HttpExchange exchange) throws IOException {
+        Map<String, String> query = query(exchange.getRequestURI());
+        int startDay = date(query.get("start"));
+        int years = number(query.get("years"));
+        int months = number(query.get("months"));
+        int days = number(query.get("days"));
+        if (startDay == Integer.MIN_VALUE || years == Integer.MIN_VALUE || months == Integer.MIN_VALUE || days == Integer.MIN_VALUE) {
+            respond(exchange, 400, "error\n");
+            return;
+        }
+
+        BusinessRules snapshot = rules.current();
+        ResultCache cache = cache(snapshot);
+        exchange.getResponseHeaders().set(RULES_VERSION, Integer.toString(snapshot.version()));
+        int resultDay;
+        try {
+            if (isBusiness(query)) {
+                resultDay = (cache != null) ? cache.add(startDay, days, true) : snapshot.holidayCalendar().plus(startDay, days);
+            } else if (years == 0 && months == 0 && cache != null) {
+                resultDay = cache.add(startDay, days, false);
+            } else {
+                resultDay = EpochDays.plus(startDay, years, months, days);
+            }
+        } catch (ArithmeticException e) {
+            // the result is past the day numbers, whether it was calculated or went through the cache
+            respond(exchange, 400, "error\n");
+            return;
+        }
+        respond(exchange, 200, formatDate(resultDay) + "\n");
+    }
+
+    private void batch(HttpExchange exchange) throws IOException {
+        Map<String, String> query = query(exchange.getRequestURI());
+        String mode = query.get("mode");
+        if (!"POST".equals(exchange.getRequestMethod()) || !("compare".equals(mode) || "add".equals(mode))) {
+            respond(exchange, 400, "error\n");
+            return;
+        }
+
+        // a length of 0 sends the response chunked, so rows go out while the rest of the body is still being read; the
+        // whole batch is calculated with the rules that were published when it started
+        BusinessRules snapshot = rules.current();
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.getResponseHeaders().set(RULES_VERSION, Integer.toString(snapshot.version()));
+        exchange.sendResponseHeaders(200, 0);
+        BatchRunner runner = new BatchRunner(mode.equals("compare"), isBusiness(query), snapshot.holidayCalendar());
+        try (OutputStream body = exchange.getResponseBody()) {
+            runner.run(Channels.newChannel(exchange.getRequestBody()), Channels.newChannel(body), BATCH_CHUNK, BATCH_BUFFER);
+        }
+    }
+
+    private static int difference(int startDay, int endDay, boolean businessMode, BusinessRules snapshot, ResultCache cache) {
+        if (cache != null) {
+            return cache.difference(startDay, endDay, businessMode);
+        } else if (businessMode) {
+            return snapshot.holidayCalendar().between(Math.min(startDay, endDay), Math.max(startDay, endDay));
+        }
+        return Math.abs(EpochDays.daysBetween(startDay, endDay));
+    }
+
+    // the cache for a snapshot, or null to calculate directly when there is no cache or the snapshot is older than it
+    private ResultCache cache(BusinessRules snapshot) {
+        VersionedCache current = cache;
+        if (cacheBytes == 0 || (current != null && current.version > snapshot.version())) {
+            return null;
+        } else if (current != null && current.version == snapshot.version()) {
+            return current.cache;
+        }
+        return newCache(snapshot);
+    }
+
+    // only one thread makes the cache for a new version, the others wait for it instead of each allocating one
+    private synchronized ResultCache newCache(BusinessRules snapshot) {
+        VersionedCache current = cache;
+        if (current == null || current.version < snapshot.version()) {
+            current = new VersionedCache(snapshot.version(), new ResultCache(snapshot.holidayCalendar(), cacheBytes));
+            cache = current;
+        }
+        return (current.version == snapshot.version()) ? current.cache : null;
+    }
+
+    private static boolean isBusiness(Map<String, String> query) {
+        return "true".equals(query.get("business"));
+    }
+
+    // a yyyy-MM-dd date as a day number, or Integer.MIN_VALUE if it is missing or malformed
+    private static int date(String value) {
+        if (value == null) {
+            return Integer.MIN_VALUE;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.US_ASCII);
+        RowParser parser = new RowParser();
+        parser.reset(bytes, 0, bytes.length);
+        int day = parser.nextDate();
+        return (parser.isValid() && !parser.hasMore()) ? day : Integer.MIN_VALUE;
+    }
+
+    // a whole number that defaults to 0 when missing, or Integer.MIN_VALUE if it is malformed
+    private static int number(String value) {
+        if (value == null) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return Integer.MIN_VALUE;
+        }
+    }
+
+    private static String formatDate(int epochDay) {
+        return String.format("%04d-%02d-%02d", EpochDays.year(epochDay), EpochDays.month(epochDay), EpochDays.dayOfMonth(epochDay));
+    }
+
+    // the query parameters, none of the values used here need url decoding
+    private static Map<String, String> query(URI uri) {
+        Map<String, String> parameters = new HashMap<>();
+        String query = uri.getRawQuery();
+        if (query == null) {
+            return parameters;
+        }
+        for (String pair : query.split("&")) {
+            int equals = pair.indexOf('=');
+            if (equals > 0) {
+                parameters.put(pair.substring(0, equals), pair.substring(equals + 1));
+            }
+        }
+        return parameters;
+    }
+
+    private static void respond(HttpExchange exchange, int status, String text) throws IOException {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream body = exchange.getResponseBody()) {
+            body.write(bytes);
+        }
+    }
+
+    private static final class VersionedCache {
+        final int version;
+        final ResultCache cache;
+
+        VersionedCache(int version, ResultCache cache) {
+            this.version = version;
+            this.cache = cache;
+        }
+    }
+
+}
@@ -0,0 +1,123 @@
+package com.mobabur94.datecalc.server;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// fires compare and add requests at a DateService on localhost at a fixed rate and reports the latency percentiles
+//
+// requests are sent on schedule whether or not earlier ones have finished, and each latency is measured from when its
+// request was due rather than when it was sent, so a stalled server shows up in the numbers instead of hiding them
+public final class LoadTest {
+
+    private LoadTest() { }
+
+    public static void main(String[] args) throws Exception {
+        String base = "http://localhost:8080";
+        int qps = 1000;
+        int seconds = 10;
+        for (String arg : args) {
+            if (arg.startsWith("--url=")) {
+                base = arg.substring("--url=".length());
+            } else if (arg.startsWith("--qps=")) {
+                qps = Integer.parseInt(arg.substring("--qps=".length()));
+            } else if (arg.startsWith("--seconds=")) {
+                seconds = Integer.parseInt(arg.substring("--seconds=".length()));
+            } else {
+                System.err.println("usage: LoadTest [--url=http://localhost:8080] [--qps=1000] [--seconds=10]");
+                System.exit(2);
+            }
+        }
+
+        // make the urls up front so the schedule is not held up by building them
+        int total = qps * seconds;
+        URL[] urls = new URL[total];
+        Random random = new Random(42);
+        for (int i = 0; i < total; i++) {
+            String start = String.format("%04d-%02d-%02d", 2000 + random.nextInt(30), 1 + random.nextInt(12), 1 + random.nextInt(28));
+            String business = (random.nextBoolean()) ? "&business=true" : "";
+            if (random.nextBoolean()) {
+                String end = String.format("%04d-%02d-%02d", 2000 + random.nextInt(30), 1 + random.nextInt(12), 1 + random.nextInt(28));
+                urls[i] = new URL(base + "/compare?start=" + start + "&end=" + end + business);
+            } else {
+                urls[i] = new URL(base + "/add?start=" + start + "&days=" + (random.nextInt(501) - 250) + business);
+            }
+        }
+
+        final long[] latencies = new long[total];
+        final AtomicInteger done = new AtomicInteger();
+        final AtomicLong errors = new AtomicLong();
+        ExecutorService executor = DateService.requestExecutor();
+
+        long interval = TimeUnit.SECONDS.toNanos(1) / qps;
+        long started = System.nanoTime();
+        for (int i = 0; i < total; i++) {
+            final int index = i;
+            final URL url = urls[i];
+            final long due = started + i * interval;
+
+            // wait for the request's turn, sleeping when there is enough time left and spinning for the rest
+            long wait;
+            while ((wait = due - System.nanoTime()) > 0) {
+                if (wait > 2000000) {
+                    Thread.sleep(1);
+                }
+            }
+
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    if (!request(url)) {
+                        errors.incrementAndGet();
+                    }
+                    latencies[index] = System.nanoTime() - due;
+                    done.incrementAndGet();
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+        double elapsed = (System.nanoTime() - started) / 1e9;
+
+        int finished = done.get();
+        long[] sorted = Arrays.copyOf(latencies, total);
+        Arrays.sort(sorted);
+        sorted = Arrays.copyOfRange(sorted, total - finished, total);
+        System.out.printf("%d requests in %.1f s (%.0f/s, target %d/s), %d errors%n", finished, elapsed, finished / elapsed, qps, errors.get());
+        System.out.printf("p50 %.3f ms, p99 %.3f ms, p99.9 %.3f ms, max %.3f ms%n",
+                percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 0.999), percentile(sorted, 1.0));
+    }
+
+    // send one request and read the whole response, the connection is kept alive for the next one
+    private static boolean request(URL url) {
+        try {
+            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+            int status = connection.getResponseCode();
+            InputStream body = (status == 200) ? connection.getInputStream() : connection.getErrorStream();
+            if (body != null) {
+                byte[] buffer = new byte[256];
+                while (body.read(buffer) >= 0) { }
+                body.close();
+            }
+            return status == 200;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static double percentile(long[] sorted, double fraction) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(sorted.length * fraction) - 1);
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+}
@@ -0,0 +1,289 @@
+package com.mobabur94.datecalc.server;
+
+import com.mobabur94.datecalc.engine.EpochDays;
+import com.mobabur94.datecalc.engine.HolidayCalendar;
+import com.mobabur94.datecalc.engine.Period;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+// memoizes add and compare mode results for one holiday calendar, for servers that see the same queries over and over
+//
+// a query packs into a long key of the start day, the second operand and the operation, and lands in one of several
+// segments, each an open addressing table of primitive keys and values behind its own lock; once a segment is full a
+// CLOCK hand evicts the first entry that was not used since the hand last passed it
+public final class ResultCache {
+
+    // key, value and clock state for every slot
+    private static final int BYTES_PER_SLOT = 8 + 8 + 1;
+
+    // the fewest slots of a segment, with fewer the clock would evict after a handful of entries
+    private static final int MIN_SLOTS = 16;
+
+    // the smallest budget a cache keeps to, one segment of the fewest slots
+    public static final long MIN_BYTES = MIN_SLOTS * BYTES_PER_SLOT;
+
+    private static final int ADD = 0;
+    private static final int BUSINESS_ADD = 1;
+    private static final int DIFFERENCE = 2;
+    private static final int BUSINESS_DIFFERENCE = 3;
+    private static final int PERIOD = 4;
+
+    // the second operand keeps 29 bits next to the 3 bits of the operation, anything wider is calculated uncached
+    private static final int OPERAND_BITS = 29;
+    private static final int OPERAND_MIN = -(1 << (OPERAND_BITS - 1));
+    private static final int OPERAND_MAX = (1 << (OPERAND_BITS - 1)) - 1;
+
+    private final HolidayCalendar holidayCalendar;
+    private final Segment[] segments;
+    private final int segmentShift;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    // the tables together stay under maxBytes, split over a power of two of segments to keep lock contention low, and
+    // over fewer segments than asked for when the budget cannot give each of them the fewest slots
+    public ResultCache(HolidayCalendar holidayCalendar, long maxBytes, int concurrency) {
+        if (maxBytes < MIN_BYTES) {
+            throw new IllegalArgumentException("cache of " + maxBytes + " bytes is smaller than the " + MIN_BYTES + " bytes of one segment");
+        }
+        int segmentCount = Integer.highestOneBit(Math.max(1, Math.min(concurrency, 1 << 16)));
+        while (segmentCount > 1 && segmentCount * MIN_BYTES > maxBytes) {
+            segmentCount /= 2;
+        }
+        long slotsPerSegment = Long.highestOneBit(maxBytes / BYTES_PER_SLOT / segmentCount);
+        if (slotsPerSegment > 1 << 30) {
+            throw new IllegalArgumentException("cache of " + maxBytes + " bytes is too large");
+        }
+
+        this.holidayCalendar = holidayCalendar;
+        this.segments = new Segment[segmentCount];
+        this.segmentShift = 64 - Integer.numberOfTrailingZeros(segmentCount);
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment((int) slotsPerSegment);
+        }
+    }
+
+    // a cache sized for the available cores
+    public ResultCache(HolidayCalendar holidayCalendar, long maxBytes) {
+        this(holidayCalendar, maxBytes, Runtime.getRuntime().availableProcessors() * 4);
+    }
+
+    // add mode: the day after adding the days, or business days in business mode, an ArithmeticException if that is
+    // past the day numbers
+    public int add(int startDay, int amount, boolean businessMode) {
+        return (int) get(startDay, amount, (businessMode) ? BUSINESS_ADD : ADD);
+    }
+
+    // compare mode: total days, or business days in business mode, between the days in either order
+    public int difference(int startDay, int endDay, boolean businessMode) {
+        return (int) get(startDay, endDay, (businessMode) ? BUSINESS_DIFFERENCE : DIFFERENCE);
+    }
+
+    // compare mode: the years, months and days between the days in either order, packed as by Period
+    public long period(int startDay, int endDay) {
+        return get(startDay, endDay, PERIOD);
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    public long size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size;
+            }
+        }
+        return size;
+    }
+
+    // the bytes the tables were made with, which stay within the budget
+    long bytes() {
+        long slots = 0;
+        for (Segment segment : segments) {
+            slots += segment.keys.length;
+        }
+        return slots * BYTES_PER_SLOT;
+    }
+
+    public void clear() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "hits " + hits() + ", misses " + misses() + ", evictions " + evictions() + ", size " + size();
+    }
+
+    private long get(int first, int second, int operation) {
+        if (second < OPERAND_MIN || second > OPERAND_MAX) {
+            return calculate(first, second, operation);
+        }
+
+        long key = ((long) first << 32) | ((long) (second & ((1 << OPERAND_BITS) - 1)) << 3) | operation;
+        long hash = mix(key);
+        Segment segment = segments[(int) (hash >>> segmentShift) & (segments.length - 1)];
+        int slot = (int) hash;
+
+        synchronized (segment) {
+            int index = segment.find(key, slot);
+            if (index >= 0) {
+                hits.increment();
+                return segment.values[index];
+            }
+        }
+
+        // calculate outside of the lock, two threads missing on the same key at once just store the same value
+        misses.increment();
+        long value = calculate(first, second, operation);
+        synchronized (segment) {
+            if (segment.put(key, slot, value)) {
+                evictions.increment();
+            }
+        }
+        return value;
+    }
+
+    private long calculate(int first, int second, int operation) {
+        switch (operation) {
+            case ADD:
+                // throws past the day numbers like EpochDays.plus, so a wrapped around day is never stored
+                return Math.addExact(first, second);
+            case BUSINESS_ADD:
+                return holidayCalendar.plus(first, second);
+            case DIFFERENCE:
+                return Math.abs(EpochDays.daysBetween(first, second));
+            case BUSINESS_DIFFERENCE:
+                return holidayCalendar.between(Math.min(first, second), Math.max(first, second));
+            default:
+                return Period.between(first, second);
+        }
+    }
+
+    // spread the key over every bit, the top bits pick the segment and the bottom bits the slot
+    private static long mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return key;
+    }
+
+    // linear probing table that is only ever touched while holding its own monitor
+    private static final class Segment {
+
+        private static final byte EMPTY = 0;
+        private static final byte USED = 1;
+        private static final byte REFERENCED = 2;
+
+        private final long[] keys;
+        private final long[] values;
+        private final byte[] states;
+        private final int mask;
+
+        // evict once three quarters of the slots are taken, so probes stay short
+        private final int maxSize;
+        private int size;
+        private int hand;
+
+        Segment(int slots) {
+            keys = new long[slots];
+            values = new long[slots];
+            states = new byte[slots];
+            mask = slots - 1;
+            maxSize = slots - slots / 4;
+        }
+
+        // the slot holding the key, marked as recently used, or -1
+        int find(long key, int slot) {
+            for (int i = slot & mask; states[i] != EMPTY; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    states[i] = REFERENCED;
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        // store the key, returning whether another entry was evicted to make room
+        boolean put(long key, int slot, long value) {
+            int i = slot & mask;
+            for (; states[i] != EMPTY; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    values[i] = value;
+                    return false;
+                }
+            }
+
+            boolean evicted = false;
+            if (size == maxSize) {
+                evict();
+                evicted = true;
+
+                // removing shifts entries back, so the free slot for the key has to be found again
+                for (i = slot & mask; states[i] != EMPTY; i = (i + 1) & mask) { }
+            }
+
+            keys[i] = key;
+            values[i] = value;
+            states[i] = USED;
+            size++;
+            return evicted;
+        }
+
+        // sweep the hand, giving referenced entries a second chance, and remove the first one without it
+        private void evict() {
+            while (true) {
+                int i = hand;
+                hand = (hand + 1) & mask;
+                if (states[i] == REFERENCED) {
+                    states[i] = USED;
+                } else if (states[i] == USED) {
+                    remove(i);
+                    return;
+                }
+            }
+        }
+
+        // empty the slot and shift back any later entries of the run that would no longer be found
+        private void remove(int free) {
+            states[free] = EMPTY;
+            size--;
+            for (int i = (free + 1) & mask; states[i] != EMPTY; i = (i + 1) & mask) {
+                int home = (int) mix(keys[i]) & mask;
+
+                // the entry can move into the free slot if its home is not between the free slot and where it is now
+                if (((i - home) & mask) >= ((i - free) & mask)) {
+                    keys[free] = keys[i];
+                    values[free] = values[i];
+                    states[free] = states[i];
+                    states[i] = EMPTY;
+                    free = i;
+                }
+            }
+        }
+
+        void clear() {
+            Arrays.fill(states, EMPTY);
+            size = 0;
+            hand = 0;
+        }
+    }
+
+}
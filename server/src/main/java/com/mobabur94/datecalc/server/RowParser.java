@@ -0,0 +1,102 @@
+package com.mobabur94.datecalc.server;
+
+import com.mobabur94.datecalc.engine.EpochDays;
+
+// parses the fields of a comma or tab separated row in place, reused from row to row so that nothing is allocated
+public final class RowParser {
+
+    private byte[] bytes;
+    private int position;
+    private int end;
+    private boolean valid;
+
+    public void reset(byte[] bytes, int start, int end) {
+        this.bytes = bytes;
+        this.position = start;
+        this.end = end;
+        this.valid = true;
+    }
+
+    // whether every field read since the last reset was well formed
+    public boolean isValid() {
+        return valid;
+    }
+
+    public boolean hasMore() {
+        return position < end;
+    }
+
+    // read a yyyy-MM-dd date as a day number
+    public int nextDate() {
+        int year = digits(4);
+        expect('-');
+        int month = digits(2);
+        expect('-');
+        int day = digits(2);
+        if (month < 1 || month > 12 || day < 1 || day > EpochDays.lengthOfMonth(year, month)) {
+            valid = false;
+            return 0;
+        }
+        skipSeparator();
+        return EpochDays.of(year, month, day);
+    }
+
+    // read a signed whole number
+    public int nextInt() {
+        boolean negative = false;
+        if (position < end && (bytes[position] == '-' || bytes[position] == '+')) {
+            negative = bytes[position] == '-';
+            position++;
+        }
+        int start = position;
+        long value = 0;
+        while (position < end && isDigit(bytes[position])) {
+            value = value * 10 + (bytes[position++] - '0');
+            if (value > Integer.MAX_VALUE) {
+                valid = false;
+            }
+        }
+        if (position == start) {
+            valid = false;
+        }
+        skipSeparator();
+        return (int) (negative ? -value : value);
+    }
+
+    private int digits(int count) {
+        int value = 0;
+        for (int i = 0; i < count; i++) {
+            if (position >= end || !isDigit(bytes[position])) {
+                valid = false;
+                return 0;
+            }
+            value = value * 10 + (bytes[position++] - '0');
+        }
+        return value;
+    }
+
+    private void expect(char c) {
+        if (position < end && bytes[position] == c) {
+            position++;
+        } else {
+            valid = false;
+        }
+    }
+
+    // a field has to be followed by the end of the row or a separator
+    private void skipSeparator() {
+        if (position < end) {
+            byte b = bytes[position];
+            if (b == ',' || b == '\t') {
+                position++;
+            } else {
+                valid = false;
+            }
+        }
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+}
@@ -0,0 +1,110 @@
+package com.mobabur94.datecalc.server;
+
+import com.mobabur94.datecalc.engine.BusinessRules;
+import com.mobabur94.datecalc.engine.HolidayCalendar;
+import com.mobabur94.datecalc.engine.HolidayCalendars;
+import com.mobabur94.datecalc.engine.PublishedRules;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+
+// reloads the weekends and holidays from a rules file whenever it changes and publishes them as the next version
+//
+// the directory is watched rather than the file, since editors often save by renaming a new file over the old one;
+// calculations already running keep the snapshot they started with, and a file that can not be read or has a bad line
+// leaves the published rules as they were
+public final class RulesWatcher implements Closeable {
+
+    // a save usually shows up as a few events in a row, so wait for them to settle and reload once
+    private static final long SETTLE_MILLIS = 100;
+
+    private final Path file;
+    private final PublishedRules rules;
+    private final WatchService watchService;
+    private final Thread thread;
+
+    public RulesWatcher(Path file, PublishedRules rules) throws IOException {
+        this.file = file.toAbsolutePath();
+        this.rules = rules;
+        this.watchService = this.file.getFileSystem().newWatchService();
+        this.file.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        this.thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                watch();
+            }
+        }, "rules-watcher");
+        thread.setDaemon(true);
+    }
+
+    // publish the file as it is now, then keep reloading it in the background
+    public BusinessRules start() throws IOException {
+        BusinessRules published = rules.publishHolidayCalendar(load(file));
+        thread.start();
+        return published;
+    }
+
+    // read a rules file, see HolidayCalendars.read for what goes in it; a bad line is an IOException like a missing file,
+    // and either one names the file
+    public static HolidayCalendar load(Path file) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return HolidayCalendars.read(reader);
+        } catch (NoSuchFileException e) {
+            throw new IOException("could not read " + file + ": no such file", e);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IOException("could not read " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+        thread.interrupt();
+    }
+
+    private void watch() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                Thread.sleep(SETTLE_MILLIS);
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW || file.getFileName().equals(event.context())) {
+                        changed = true;
+                    }
+                }
+
+                // the key stops working if the directory goes away
+                if (!key.reset()) {
+                    System.err.println("stopped watching " + file + ", keeping rules version " + rules.current().version());
+                    return;
+                }
+                if (changed) {
+                    reload();
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // closed
+        }
+    }
+
+    private void reload() {
+        try {
+            BusinessRules published = rules.publishHolidayCalendar(load(file));
+            System.err.println("rules version " + published.version() + " from " + file);
+        } catch (IOException e) {
+            System.err.println("kept rules version " + rules.current().version() + ", " + e.getMessage());
+        }
+    }
+
+}
@@ -0,0 +1,86 @@
+package com.mobabur94.datecalc.server;
+
+import com.mobabur94.datecalc.engine.HolidayCalendar;
+import com.mobabur94.datecalc.engine.HolidayCalendars;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+
+// whole rows through a runner, with a small chunk and buffer so rows cross both
+public class BatchRunnerTest {
+
+    @Test
+    public void compareRows() throws IOException {
+        BatchRunner runner = new BatchRunner(true, false, HolidayCalendar.NONE);
+        assertEquals("# header\n"
+                + "\n"
+                + "2016-01-31,2016-03-01,0,1,1,30\n"
+                + "2016-03-01\t2016-01-31\t0\t1\t1\t30\n"
+                + "2000-02-29,2004-02-28,3,11,30,1460\n",
+                run(runner, "# header\n\n2016-01-31,2016-03-01\n2016-03-01\t2016-01-31\n2000-02-29,2004-02-28\n"));
+        assertEquals(0, runner.getErrors());
+    }
+
+    @Test
+    public void businessCompareRows() throws IOException {
+        BatchRunner runner = new BatchRunner(true, true, HolidayCalendars.unitedStatesFederal(2015, 2016));
+        assertEquals("2015-12-21,2015-12-31,7\n2015-12-31,2015-12-21,7\n",
+                run(runner, "2015-12-21,2015-12-31\n2015-12-31,2015-12-21\n"));
+    }
+
+    @Test
+    public void addRows() throws IOException {
+        BatchRunner runner = new BatchRunner(false, false, HolidayCalendar.NONE);
+        assertEquals("2016-01-31,1,2016-02-01\n"
+                + "2016-01-31,0,1,0,2016-02-29\n"
+                + "2016-02-29,1,0,0,2017-02-28\n"
+                + "2016-03-01,-1,2016-02-29\n",
+                run(runner, "2016-01-31,1\n2016-01-31,0,1,0\n2016-02-29,1,0,0\n2016-03-01,-1\n"));
+    }
+
+    @Test
+    public void businessAddRows() throws IOException {
+        BatchRunner runner = new BatchRunner(false, true, HolidayCalendars.unitedStatesFederal(2015, 2016));
+        assertEquals("2015-12-24,1,2015-12-28\n2015-12-28,-1,2015-12-24\n",
+                run(runner, "2015-12-24,1\n2015-12-28,-1\n"));
+    }
+
+    @Test
+    public void malformedRowsGetAnErrorField() throws IOException {
+        BatchRunner runner = new BatchRunner(false, false, HolidayCalendar.NONE);
+        assertEquals("2016-02-30,1,error\n"
+                + "2016-01-01,x,error\n"
+                + "2016-01-01,1,2,error\n"
+                + "2016-01-01,error\n"
+                + "2016-01-01,1,2,3,4,error\n",
+                run(runner, "2016-02-30,1\n2016-01-01,x\n2016-01-01,1,2\n2016-01-01\n2016-01-01,1,2,3,4\n"));
+        assertEquals(5, runner.getErrors());
+    }
+
+    @Test
+    public void amountsPastTheDayNumbersGetAnErrorField() throws IOException {
+        BatchRunner runner = new BatchRunner(false, false, HolidayCalendar.NONE);
+        assertEquals("2016-01-01,2147483647,0,0,error\n2016-01-01,2147483647,error\n",
+                run(runner, "2016-01-01,2147483647,0,0\n2016-01-01,2147483647\n"));
+
+        BatchRunner business = new BatchRunner(false, true, HolidayCalendar.NONE);
+        assertEquals("2016-01-01,2147483647,error\n2016-01-01,-2147483647,error\n",
+                run(business, "2016-01-01,2147483647\n2016-01-01,-2147483647\n"));
+        assertEquals(2, business.getErrors());
+    }
+
+    private static String run(BatchRunner runner, String input) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        runner.run(Channels.newChannel(new ByteArrayInputStream(input.getBytes(StandardCharsets.US_ASCII))),
+                Channels.newChannel(output), 40, 16);
+        return output.toString("US-ASCII");
+    }
+
+}
@@ -0,0 +1,83 @@
+package com.mobabur94.datecalc.server;
+
+import com.mobabur94.datecalc.engine.EpochDays;
+import com.mobabur94.datecalc.engine.HolidayCalendar;
+import com.mobabur94.datecalc.engine.HolidayCalendars;
+import com.mobabur94.datecalc.engine.Weekdays;
+
+import org.junit.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+
+// the columns against the engine one day at a time, over enough days to split across the pool
+public class BulkCalculationsTest {
+
+    @Test
+    public void daysBetweenAndPlusDays() {
+        int first = EpochDays.of(1950, 1, 1);
+        int[] starts = new int[EpochDays.of(2030, 12, 31) - first + 1];
+        int[] amounts = new int[starts.length];
+        int[] ends = new int[starts.length];
+        for (int i = 0; i < starts.length; i++) {
+            starts[i] = first + i;
+            amounts[i] = (i * 37) % 401 - 200;
+            ends[i] = starts[i] + amounts[i];
+        }
+        int[] out = new int[starts.length];
+        HolidayCalendar calendar = HolidayCalendars.unitedStatesFederal(1949, 2031);
+        BulkCalculations bulk = new BulkCalculations(new ForkJoinPool(4), calendar);
+
+        bulk.daysBetween(starts, ends, out, false);
+        for (int i = 0; i < starts.length; i++) {
+            assertEquals(Math.abs(amounts[i]), out[i]);
+        }
+        bulk.daysBetween(starts, ends, out, true);
+        for (int i = 0; i < starts.length; i++) {
+            assertEquals(calendar.between(Math.min(starts[i], ends[i]), Math.max(starts[i], ends[i])), out[i]);
+        }
+        bulk.plusDays(starts, amounts, out, false);
+        for (int i = 0; i < starts.length; i++) {
+            assertEquals(ends[i], out[i]);
+        }
+        bulk.plusDays(starts, amounts, out, true);
+        for (int i = 0; i < starts.length; i++) {
+            assertEquals(calendar.plus(starts[i], amounts[i]), out[i]);
+        }
+    }
+
+    @Test
+    public void weekdaysOfTheMonth() {
+        int first = EpochDays.of(1950, 1, 1);
+        int[] days = new int[EpochDays.of(2030, 12, 31) - first + 1];
+        for (int i = 0; i < days.length; i++) {
+            days[i] = first + i;
+        }
+        int[] out = new int[days.length];
+        BulkCalculations bulk = new BulkCalculations(new ForkJoinPool(4), HolidayCalendar.NONE);
+
+        for (int dayOfWeek = EpochDays.MONDAY; dayOfWeek <= EpochDays.SUNDAY; dayOfWeek++) {
+            for (int n = 1; n <= 5; n++) {
+                bulk.nthWeekdayOfMonth(days, dayOfWeek, n, out);
+                for (int i = 0; i < days.length; i++) {
+                    int year = EpochDays.year(days[i]);
+                    int month = EpochDays.month(days[i]);
+                    assertEquals(Weekdays.nthInMonth(year, month, dayOfWeek, n), out[i]);
+                }
+            }
+
+            bulk.lastWeekdayOfMonth(days, dayOfWeek, out);
+            for (int i = 0; i < days.length; i++) {
+                assertEquals(Weekdays.lastInMonth(EpochDays.year(days[i]), EpochDays.month(days[i]), dayOfWeek), out[i]);
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nthWeekdayOfMonthRejectsN() {
+        int[] days = {0};
+        new BulkCalculations().nthWeekdayOfMonth(days, EpochDays.MONDAY, -1, new int[1]);
+    }
+
+}
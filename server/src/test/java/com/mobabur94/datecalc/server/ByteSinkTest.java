@@ -0,0 +1,57 @@
+package com.mobabur94.datecalc.server;
+
+import com.mobabur94.datecalc.engine.EpochDays;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.junit.Assert.assertEquals;
+
+public class ByteSinkTest {
+
+    @Test
+    public void numbers() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ByteSink sink = new ByteSink(Channels.newChannel(bytes), 64);
+        int[] values = {0, 7, -7, 10, 999, -1000, Integer.MAX_VALUE, Integer.MIN_VALUE};
+        StringBuilder expected = new StringBuilder();
+        for (int value : values) {
+            sink.putInt(value).put((byte) ' ');
+            expected.append(value).append(' ');
+        }
+        sink.flush();
+        assertEquals(expected.toString(), bytes.toString("US-ASCII"));
+    }
+
+    @Test
+    public void datesMatchLocalDate() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ByteSink sink = new ByteSink(Channels.newChannel(bytes), 100);
+        StringBuilder expected = new StringBuilder();
+        for (int day = EpochDays.of(-5, 1, 1); day <= EpochDays.of(10005, 1, 1); day += 997) {
+            sink.putDate(day).put((byte) '\n');
+            LocalDate date = LocalDate.ofEpochDay(day);
+            String year = (date.getYear() < 0 || date.getYear() > 9999) ? Integer.toString(date.getYear()) : String.format("%04d", date.getYear());
+            expected.append(year).append(String.format("-%02d-%02d\n", date.getMonthValue(), date.getDayOfMonth()));
+        }
+        sink.flush();
+        assertEquals(expected.toString(), bytes.toString("US-ASCII"));
+    }
+
+    @Test
+    public void arraysLongerThanTheBuffer() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ByteSink sink = new ByteSink(Channels.newChannel(bytes), 1);
+        byte[] text = "a line that is longer than the buffer".getBytes(StandardCharsets.US_ASCII);
+        sink.put(text, 2, text.length - 4).put(text).put((byte) '!');
+        sink.flush();
+        sink.flush();
+        assertEquals("line that is longer than the bu" + "a line that is longer than the buffer!", bytes.toString("US-ASCII"));
+    }
+
+}
@@ -0,0 +1,129 @@
+package com.mobabur94.datecalc.server;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+// lines split across chunk boundaries by a channel that hands out a few bytes at a time
+public class ChunkedLinesTest {
+
+    @Test
+    public void linesAcrossChunks() throws IOException {
+        Random random = new Random(7);
+        for (int chunkSize = 2; chunkSize <= 24; chunkSize++) {
+            for (int round = 0; round < 200; round++) {
+                // lines up to the longest that fits in a chunk with its line break, some ending in \r\n
+                StringBuilder text = new StringBuilder();
+                List<String> expected = new ArrayList<>();
+                int count = random.nextInt(12);
+                for (int i = 0; i < count; i++) {
+                    boolean crlf = chunkSize > 2 && random.nextBoolean();
+                    String line = letters(random, random.nextInt(chunkSize - (crlf ? 2 : 1) + 1));
+                    expected.add(line);
+                    text.append(line).append(crlf ? "\r\n" : "\n");
+                }
+
+                // the last line may go without a line break, then it has to be shorter than the chunk
+                if (random.nextBoolean()) {
+                    String line = letters(random, 1 + random.nextInt(chunkSize - 1));
+                    expected.add(line);
+                    text.append(line);
+                }
+
+                List<String> lines = new ArrayList<>();
+                long handled = ChunkedLines.forEach(new Trickle(text.toString(), random), chunkSize, collect(lines));
+                assertEquals(chunkSize + " " + text, expected, lines);
+                assertEquals(expected.size(), handled);
+            }
+        }
+    }
+
+    @Test
+    public void emptyChannel() throws IOException {
+        List<String> lines = new ArrayList<>();
+        assertEquals(0, ChunkedLines.forEach(new Trickle("", new Random(1)), 8, collect(lines)));
+        assertEquals(0, lines.size());
+    }
+
+    @Test
+    public void blankLinesAreHandled() throws IOException {
+        List<String> lines = new ArrayList<>();
+        assertEquals(4, ChunkedLines.forEach(new Trickle("\n\r\na\n\n", new Random(1)), 4, collect(lines)));
+        assertEquals(Arrays.asList("", "", "a", ""), lines);
+    }
+
+    @Test
+    public void lineLongerThanTheChunkFailsWithItsNumber() throws IOException {
+        List<String> lines = new ArrayList<>();
+        try {
+            ChunkedLines.forEach(new Trickle("abc\nde\nfghij\nk\n", new Random(1)), 5, collect(lines));
+            fail("read a line longer than the chunk");
+        } catch (IOException e) {
+            assertTrue(e.getMessage(), e.getMessage().startsWith("line 3 "));
+        }
+        assertEquals(Arrays.asList("abc", "de"), lines);
+    }
+
+    private static ChunkedLines.Handler collect(final List<String> lines) {
+        return new ChunkedLines.Handler() {
+            @Override
+            public void line(byte[] bytes, int start, int end) {
+                lines.add(new String(bytes, start, end - start, StandardCharsets.US_ASCII));
+            }
+        };
+    }
+
+    private static String letters(Random random, int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) ('a' + random.nextInt(26));
+        }
+        return new String(chars);
+    }
+
+    // reads between 1 and 5 bytes at a time
+    private static final class Trickle implements ReadableByteChannel {
+
+        private final byte[] bytes;
+        private final Random random;
+        private int position;
+
+        Trickle(String text, Random random) {
+            this.bytes = text.getBytes(StandardCharsets.US_ASCII);
+            this.random = random;
+        }
+
+        @Override
+        public int read(ByteBuffer buffer) {
+            if (position == bytes.length) {
+                return -1;
+            }
+            int length = Math.min(Math.min(1 + random.nextInt(5), buffer.remaining()), bytes.length - position);
+            buffer.put(bytes, position, length);
+            position += length;
+            return length;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+
+    }
+
+}
@@ -0,0 +1,168 @@
+package com.mobabur94.datecalc.server;
+
+import com.mobabur94.datecalc.engine.HolidayCalendar;
+import com.mobabur94.datecalc.engine.HolidayCalendars;
+
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+// every kind of range against a java.time loop over the same days, sequentially, in parallel and split by hand
+public class DateRangesTest {
+
+    // empty, single days, around 1970-01-01 where the counts change sign, and across leap years and many months
+    private static final LocalDate[][] RANGES = {
+            {LocalDate.of(2016, 3, 1), LocalDate.of(2016, 2, 29)},
+            {LocalDate.of(2016, 2, 29), LocalDate.of(2016, 2, 29)},
+            {LocalDate.of(2016, 1, 31), LocalDate.of(2016, 1, 31)},
+            {LocalDate.of(1969, 11, 20), LocalDate.of(1970, 2, 10)},
+            {LocalDate.of(1999, 12, 31), LocalDate.of(2001, 1, 1)},
+            {LocalDate.of(1950, 1, 1), LocalDate.of(2030, 12, 31)}
+    };
+
+    private static final HolidayCalendar CALENDAR = HolidayCalendars.unitedStatesFederal(1949, 2031);
+
+    @Test
+    public void days() {
+        for (final LocalDate[] range : RANGES) {
+            check(range, new IntPredicate() {
+                @Override
+                public boolean test(int epochDay) {
+                    return true;
+                }
+            }, new Supplier<IntStream>() {
+                @Override
+                public IntStream get() {
+                    return DateRanges.days(day(range[0]), day(range[1]));
+                }
+            });
+        }
+    }
+
+    @Test
+    public void weekdays() {
+        for (final LocalDate[] range : RANGES) {
+            for (int dayOfWeek = 1; dayOfWeek <= 7; dayOfWeek++) {
+                final int wanted = dayOfWeek;
+                check(range, new IntPredicate() {
+                    @Override
+                    public boolean test(int epochDay) {
+                        return LocalDate.ofEpochDay(epochDay).getDayOfWeek().getValue() == wanted;
+                    }
+                }, new Supplier<IntStream>() {
+                    @Override
+                    public IntStream get() {
+                        return DateRanges.weekdays(day(range[0]), day(range[1]), wanted);
+                    }
+                });
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void weekdaysRejectsTheDayOfTheWeek() {
+        DateRanges.weekdays(0, 10, 8);
+    }
+
+    @Test
+    public void businessDays() {
+        for (final LocalDate[] range : RANGES) {
+            check(range, new IntPredicate() {
+                @Override
+                public boolean test(int epochDay) {
+                    return CALENDAR.isBusinessDay(epochDay);
+                }
+            }, new Supplier<IntStream>() {
+                @Override
+                public IntStream get() {
+                    return DateRanges.businessDays(day(range[0]), day(range[1]), CALENDAR);
+                }
+            });
+        }
+    }
+
+    @Test
+    public void monthEnds() {
+        for (final LocalDate[] range : RANGES) {
+            check(range, new IntPredicate() {
+                @Override
+                public boolean test(int epochDay) {
+                    LocalDate date = LocalDate.ofEpochDay(epochDay);
+                    return date.getDayOfMonth() == date.lengthOfMonth();
+                }
+            }, new Supplier<IntStream>() {
+                @Override
+                public IntStream get() {
+                    return DateRanges.monthEnds(day(range[0]), day(range[1]));
+                }
+            });
+        }
+    }
+
+    private static void check(LocalDate[] range, IntPredicate matches, Supplier<IntStream> streams) {
+        // the slow way, one date after the other
+        List<Integer> days = new ArrayList<>();
+        for (LocalDate date = range[0]; !date.isAfter(range[1]); date = date.plusDays(1)) {
+            if (matches.test(day(date))) {
+                days.add(day(date));
+            }
+        }
+        int[] expected = new int[days.size()];
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = days.get(i);
+        }
+        String message = range[0] + ".." + range[1];
+
+        assertArrayEquals(message, expected, streams.get().toArray());
+        assertArrayEquals(message, expected, streams.get().parallel().toArray());
+        assertEquals(message, expected.length, streams.get().parallel().count());
+
+        Spliterator.OfInt spliterator = streams.get().spliterator();
+        assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED));
+        assertTrue(expected.length == 0 || spliterator.hasCharacteristics(Spliterator.ORDERED | Spliterator.SORTED));
+        assertEquals(message, expected.length, spliterator.estimateSize());
+        final List<Integer> found = new ArrayList<>();
+        split(spliterator, found);
+        assertEquals(message, Arrays.toString(expected), found.toString());
+    }
+
+    // split all the way down, checking the halves cover the whole exactly and keep their order
+    private static void split(Spliterator.OfInt spliterator, final List<Integer> found) {
+        long size = spliterator.estimateSize();
+        Spliterator.OfInt prefix = spliterator.trySplit();
+        if (prefix == null) {
+            assertTrue(size <= 1);
+            int before = found.size();
+            spliterator.forEachRemaining(new IntConsumer() {
+                @Override
+                public void accept(int epochDay) {
+                    found.add(epochDay);
+                }
+            });
+            assertEquals(size, found.size() - before);
+            assertEquals(0, spliterator.estimateSize());
+            return;
+        }
+        assertEquals(size, prefix.estimateSize() + spliterator.estimateSize());
+        assertTrue(Math.abs(prefix.estimateSize() - spliterator.estimateSize()) <= 1);
+        split(prefix, found);
+        split(spliterator, found);
+    }
+
+    private static int day(LocalDate date) {
+        return (int) date.toEpochDay();
+    }
+
+}
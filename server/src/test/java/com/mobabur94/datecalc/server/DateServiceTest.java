@@ -0,0 +1,135 @@
+package com.mobabur94.datecalc.server;
+
+import com.mobabur94.datecalc.engine.BusinessRules;
+import com.mobabur94.datecalc.engine.HolidayCalendars;
+import com.mobabur94.datecalc.engine.PublishedRules;
+import com.sun.net.httpserver.HttpServer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.Assert.assertEquals;
+
+// the handlers over http on an ephemeral port, once calculating every request and once through the cache
+public class DateServiceTest {
+
+    private ExecutorService executor;
+    private HttpServer[] servers;
+
+    @Before
+    public void start() throws IOException {
+        PublishedRules rules = new PublishedRules(BusinessRules.DEFAULT);
+        rules.publishHolidayCalendar(HolidayCalendars.unitedStatesFederal(2015, 2016));
+        executor = DateService.requestExecutor();
+        servers = new HttpServer[] {
+                new DateService(rules, 0).start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), executor),
+                new DateService(rules, ResultCache.MIN_BYTES).start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), executor)
+        };
+    }
+
+    @After
+    public void stop() {
+        for (HttpServer server : servers) {
+            server.stop(0);
+        }
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void compare() throws IOException {
+        for (HttpServer server : servers) {
+            // twice, so the second answer comes out of the cache where there is one
+            for (int i = 0; i < 2; i++) {
+                assertEquals("200 0,1,1,30\n", get(server, "/compare?start=2016-01-31&end=2016-03-01"));
+                assertEquals("200 0,1,1,30\n", get(server, "/compare?start=2016-03-01&end=2016-01-31"));
+                assertEquals("200 7\n", get(server, "/compare?start=2015-12-21&end=2015-12-31&business=true"));
+            }
+        }
+    }
+
+    @Test
+    public void add() throws IOException {
+        for (HttpServer server : servers) {
+            for (int i = 0; i < 2; i++) {
+                assertEquals("200 2016-02-01\n", get(server, "/add?start=2016-01-31&days=1"));
+                assertEquals("200 2016-02-29\n", get(server, "/add?start=2016-01-31&months=1"));
+                assertEquals("200 2017-02-28\n", get(server, "/add?start=2016-02-29&years=1"));
+                assertEquals("200 2016-01-31\n", get(server, "/add?start=2016-01-31"));
+                assertEquals("200 2015-12-28\n", get(server, "/add?start=2015-12-24&days=1&business=true"));
+                assertEquals("200 2015-12-24\n", get(server, "/add?start=2015-12-28&days=-1&business=true&years=5"));
+            }
+        }
+    }
+
+    @Test
+    public void badParametersAreBadRequests() throws IOException {
+        String[] paths = {
+                "/compare?start=2016-01-31", "/compare?end=2016-01-31", "/compare?start=2016-02-30&end=2016-03-01",
+                "/compare?start=2016-1-31&end=2016-03-01", "/compare?start=2016-01-31&end=x",
+                "/add", "/add?days=1", "/add?start=2016-01-31&days=x", "/add?start=2016-01-31&years=1.5",
+                "/add?start=2016-01-31&months=99999999999", "/add?start=2016-01-31&days=-2147483648",
+                "/batch?mode=add", "/batch?mode=x"
+        };
+        for (HttpServer server : servers) {
+            for (String path : paths) {
+                assertEquals(path, "400 error\n", get(server, path));
+            }
+        }
+    }
+
+    @Test
+    public void resultsPastTheDayNumbersAreBadRequests() throws IOException {
+        String[] paths = {
+                "/add?start=2016-01-01&days=2147483647", "/add?start=1960-01-01&days=-2147483647",
+                "/add?start=2016-01-01&years=2147483647", "/add?start=2016-01-01&months=2147483647&days=1",
+                "/add?start=2016-01-01&days=2147483647&business=true", "/add?start=1960-01-01&days=-2147483647&business=true"
+        };
+        for (HttpServer server : servers) {
+            for (String path : paths) {
+                assertEquals(path, "400 error\n", get(server, path));
+            }
+
+            // and the server keeps answering
+            assertEquals("200 2016-01-02\n", get(server, "/add?start=2016-01-01&days=1"));
+        }
+    }
+
+    @Test
+    public void everyCalculationNamesTheRulesVersion() throws IOException {
+        for (HttpServer server : servers) {
+            HttpURLConnection connection = connect(server, "/compare?start=2016-01-31&end=2016-03-01");
+            assertEquals("1", connection.getHeaderField("X-Rules-Version"));
+            connection.disconnect();
+        }
+    }
+
+    // the status and the body of a get request
+    private static String get(HttpServer server, String path) throws IOException {
+        HttpURLConnection connection = connect(server, path);
+        int status = connection.getResponseCode();
+        try (InputStream body = (status < 400) ? connection.getInputStream() : connection.getErrorStream()) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            byte[] buffer = new byte[256];
+            for (int read; (read = body.read(buffer)) > 0; ) {
+                bytes.write(buffer, 0, read);
+            }
+            return status + " " + bytes.toString("UTF-8");
+        }
+    }
+
+    private static HttpURLConnection connect(HttpServer server, String path) throws IOException {
+        URL url = new URL("http", server.getAddress().getHostString(), server.getAddress().getPort(), path);
+        return (HttpURLConnection) url.openConnection();
+    }
+
+}
@@ -0,0 +1,140 @@
+package com.mobabur94.datecalc.server;
+
+import com.mobabur94.datecalc.engine.EpochDays;
+import com.mobabur94.datecalc.engine.HolidayCalendar;
+import com.mobabur94.datecalc.engine.HolidayCalendars;
+import com.mobabur94.datecalc.engine.Period;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+// the smallest budget, a single segment of 16 slots of which 12 are used before the clock evicts
+public class ResultCacheTest {
+
+    private static final int CAPACITY = 12;
+
+    @Test
+    public void workingSetThatFitsIsNeverEvicted() {
+        ResultCache cache = new ResultCache(HolidayCalendar.NONE, ResultCache.MIN_BYTES, 1);
+        int start = EpochDays.of(2020, 1, 1);
+        for (int round = 0; round < 100; round++) {
+            for (int i = 0; i < CAPACITY; i++) {
+                assertEquals(start + i + 7, cache.add(start + i, 7, false));
+            }
+        }
+        assertEquals(CAPACITY, cache.misses());
+        assertEquals(99 * CAPACITY, cache.hits());
+        assertEquals(0, cache.evictions());
+        assertEquals(CAPACITY, cache.size());
+    }
+
+    @Test
+    public void evictsOnceFullAndStaysCorrect() {
+        HolidayCalendar calendar = HolidayCalendars.unitedStatesFederal(1990, 2050);
+        ResultCache cache = new ResultCache(calendar, ResultCache.MIN_BYTES, 4);
+        Random random = new Random(15);
+        int start = EpochDays.of(2000, 1, 1);
+        for (int i = 0; i < 20000; i++) {
+            int first = start + random.nextInt(5000);
+            int second = random.nextInt(400) - 200;
+            switch (random.nextInt(5)) {
+                case 0:
+                    assertEquals(first + second, cache.add(first, second, false));
+                    break;
+                case 1:
+                    assertEquals(calendar.plus(first, second), cache.add(first, second, true));
+                    break;
+                case 2:
+                    assertEquals(Math.abs(second), cache.difference(first, first + second, false));
+                    break;
+                case 3:
+                    assertEquals(calendar.between(Math.min(first, first + second), Math.max(first, first + second)),
+                            cache.difference(first, first + second, true));
+                    break;
+                default:
+                    assertEquals(Period.between(first, first + second), cache.period(first, first + second));
+                    break;
+            }
+
+            // the entry just stored is found, even when storing it shifted others back
+            assertEquals(first + 1, cache.add(first, 1, false));
+            assertEquals(first + 1, cache.add(first, 1, false));
+        }
+        assertEquals(CAPACITY, cache.size());
+        assertEquals(60000, cache.hits() + cache.misses());
+        assertEquals(cache.misses() - CAPACITY, cache.evictions());
+    }
+
+    @Test
+    public void recentlyUsedEntryGetsASecondChance() {
+        ResultCache cache = new ResultCache(HolidayCalendar.NONE, ResultCache.MIN_BYTES, 1);
+        for (int i = 0; i < CAPACITY; i++) {
+            cache.add(i, 1, false);
+        }
+        cache.add(0, 1, false);
+
+        // one eviction passes over the entry that was used again and takes an entry that was not
+        cache.add(CAPACITY, 1, false);
+        assertEquals(1, cache.evictions());
+        long hits = cache.hits();
+        cache.add(0, 1, false);
+        assertEquals(hits + 1, cache.hits());
+    }
+
+    @Test
+    public void wideOperandsAreCalculatedUncached() {
+        ResultCache cache = new ResultCache(HolidayCalendar.NONE, ResultCache.MIN_BYTES, 1);
+        int start = EpochDays.of(2000, 1, 1);
+        assertEquals(start + (1 << 29), cache.add(start, 1 << 29, false));
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.hits() + cache.misses());
+    }
+
+    @Test
+    public void addPastTheDayNumbersThrowsAndIsNotStored() {
+        ResultCache cache = new ResultCache(HolidayCalendar.NONE, ResultCache.MIN_BYTES, 1);
+        for (int i = 0; i < 2; i++) {
+            try {
+                cache.add(Integer.MAX_VALUE - 5, 10, false);
+                fail("added past the last day number");
+            } catch (ArithmeticException expected) {
+                // out of range
+            }
+        }
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void clearEmptiesEverySegment() {
+        ResultCache cache = new ResultCache(HolidayCalendar.NONE, 1 << 20, 8);
+        for (int i = 0; i < 1000; i++) {
+            cache.difference(i, 2 * i, false);
+        }
+        assertEquals(1000, cache.size());
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(5, cache.difference(5, 10, false));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void smallBudgetsGetFewerSegments() {
+        for (long maxBytes = ResultCache.MIN_BYTES; maxBytes < 1 << 16; maxBytes = maxBytes * 3 / 2) {
+            for (int concurrency = 1; concurrency <= 64; concurrency *= 2) {
+                long bytes = new ResultCache(HolidayCalendar.NONE, maxBytes, concurrency).bytes();
+                assertTrue(maxBytes + " " + concurrency + ": " + bytes, bytes >= ResultCache.MIN_BYTES && bytes <= maxBytes);
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void budgetBelowOneSegmentIsRejected() {
+        new ResultCache(HolidayCalendar.NONE, ResultCache.MIN_BYTES - 1, 1);
+    }
+
+}
@@ -0,0 +1,75 @@
+package com.mobabur94.datecalc.server;
+
+import com.mobabur94.datecalc.engine.EpochDays;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class RowParserTest {
+
+    private final RowParser parser = new RowParser();
+
+    @Test
+    public void datesAndNumbers() {
+        reset("2016-02-29,-12\t+7,0,2147483647");
+        assertEquals(EpochDays.of(2016, 2, 29), parser.nextDate());
+        assertEquals(-12, parser.nextInt());
+        assertEquals(7, parser.nextInt());
+        assertEquals(0, parser.nextInt());
+        assertEquals(Integer.MAX_VALUE, parser.nextInt());
+        assertTrue(parser.isValid());
+        assertFalse(parser.hasMore());
+    }
+
+    @Test
+    public void partOfTheArrayOnly() {
+        byte[] bytes = "xx1999-12-31,5yy".getBytes(StandardCharsets.US_ASCII);
+        parser.reset(bytes, 2, bytes.length - 2);
+        assertEquals(EpochDays.of(1999, 12, 31), parser.nextDate());
+        assertEquals(5, parser.nextInt());
+        assertTrue(parser.isValid());
+        assertFalse(parser.hasMore());
+    }
+
+    @Test
+    public void malformedDates() {
+        String[] dates = {"2015-02-29", "2016-13-01", "2016-00-10", "2016-01-32", "2016-1-01", "16-01-01", "2016/01/01",
+                "2016-01-01x", "2016-01-0", ""};
+        for (String date : dates) {
+            reset(date);
+            parser.nextDate();
+            assertFalse(date, parser.isValid());
+        }
+    }
+
+    @Test
+    public void malformedNumbers() {
+        String[] numbers = {"", "-", "+", "1x", "2147483648", "99999999999", "1.5", " 1"};
+        for (String number : numbers) {
+            reset(number);
+            parser.nextInt();
+            assertFalse(number, parser.isValid());
+        }
+    }
+
+    @Test
+    public void resetStartsOver() {
+        reset("nope");
+        parser.nextDate();
+        assertFalse(parser.isValid());
+        reset("2000-01-01");
+        assertEquals(EpochDays.of(2000, 1, 1), parser.nextDate());
+        assertTrue(parser.isValid());
+    }
+
+    private void reset(String row) {
+        byte[] bytes = row.getBytes(StandardCharsets.US_ASCII);
+        parser.reset(bytes, 0, bytes.length);
+    }
+
+}
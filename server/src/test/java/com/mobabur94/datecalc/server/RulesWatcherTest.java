@@ -0,0 +1,67 @@
+package com.mobabur94.datecalc.server;
+
+import com.mobabur94.datecalc.engine.BusinessRules;
+import com.mobabur94.datecalc.engine.EpochDays;
+import com.mobabur94.datecalc.engine.PublishedRules;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class RulesWatcherTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void startPublishesTheFile() throws IOException {
+        Path file = write("workweek 1111100\n2015-12-24\n");
+        PublishedRules rules = new PublishedRules(BusinessRules.DEFAULT);
+        try (RulesWatcher watcher = new RulesWatcher(file, rules)) {
+            BusinessRules published = watcher.start();
+            assertEquals(1, published.version());
+            assertTrue(rules.current().holidayCalendar().isHoliday(EpochDays.of(2015, 12, 24)));
+        }
+    }
+
+    @Test
+    public void badLineIsAnIOExceptionNamingTheFile() throws IOException {
+        Path file = write("workweek 1111100\n2015-13-01\n");
+        PublishedRules rules = new PublishedRules(BusinessRules.DEFAULT);
+        try (RulesWatcher watcher = new RulesWatcher(file, rules)) {
+            watcher.start();
+            fail("started on a bad rules file");
+        } catch (IOException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains(file.getFileName().toString()));
+            assertTrue(e.getMessage(), e.getMessage().contains("line 2"));
+        }
+        assertEquals(0, rules.current().version());
+    }
+
+    @Test
+    public void missingFileNamesTheFile() {
+        Path file = folder.getRoot().toPath().resolve("missing.rules");
+        try {
+            RulesWatcher.load(file);
+            fail("loaded a missing file");
+        } catch (IOException e) {
+            assertEquals("could not read " + file + ": no such file", e.getMessage());
+        }
+    }
+
+    private Path write(String text) throws IOException {
+        Path file = folder.newFile("holidays.rules").toPath();
+        Files.write(file, text.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+}
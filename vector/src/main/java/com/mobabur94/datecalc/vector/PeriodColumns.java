@@ -0,0 +1,30 @@
+package com.mobabur94.datecalc.vector;
+
+// compare mode over whole columns of day numbers: the years, months and days between each pair and the total days
+//
+// uses the vector api when the jdk.incubator.vector module is there, and a scalar loop otherwise, with the same results
+// either way; -Ddatecalc.scalar=true forces the scalar loop
+public final class PeriodColumns {
+
+    private static final boolean VECTORIZED = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()
+            && !Boolean.getBoolean("datecalc.scalar");
+
+    private PeriodColumns() { }
+
+    public static boolean isVectorized() {
+        return VECTORIZED;
+    }
+
+    // fill the output columns for every pair, in either order, like Period.between and the total days in compare mode
+    public static void between(int[] startDays, int[] endDays, int[] years, int[] months, int[] days, int[] totalDays) {
+        int length = startDays.length;
+        if (endDays.length != length || years.length != length || months.length != length || days.length != length || totalDays.length != length) {
+            throw new IllegalArgumentException("columns have different lengths");
+        }
+
+        // the vector kernel does whole vectors and leaves the rest to the scalar one
+        int done = (VECTORIZED) ? VectorKernel.between(startDays, endDays, years, months, days, totalDays) : 0;
+        ScalarKernel.between(startDays, endDays, years, months, days, totalDays, done, length);
+    }
+
+}
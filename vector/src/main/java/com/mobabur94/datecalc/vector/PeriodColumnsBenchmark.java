@@ -0,0 +1,66 @@
+package com.mobabur94.datecalc.vector;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// columns per millisecond for the scalar loop against the vector kernel, on dates within a few centuries of each other
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+@State(Scope.Thread)
+public class PeriodColumnsBenchmark {
+
+    @Param({"1024", "1048576"})
+    public int size;
+
+    private int[] startDays;
+    private int[] endDays;
+    private int[] years;
+    private int[] months;
+    private int[] days;
+    private int[] totalDays;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(94);
+        startDays = new int[size];
+        endDays = new int[size];
+        for (int i = 0; i < size; i++) {
+            // 1800-01-01 to 2199-12-31
+            startDays[i] = -62091 + random.nextInt(146097);
+            endDays[i] = -62091 + random.nextInt(146097);
+        }
+        years = new int[size];
+        months = new int[size];
+        days = new int[size];
+        totalDays = new int[size];
+    }
+
+    @Benchmark
+    public int[] scalar() {
+        ScalarKernel.between(startDays, endDays, years, months, days, totalDays, 0, size);
+        return days;
+    }
+
+    @Benchmark
+    public int[] vector() {
+        int done = VectorKernel.between(startDays, endDays, years, months, days, totalDays);
+        ScalarKernel.between(startDays, endDays, years, months, days, totalDays, done, size);
+        return days;
+    }
+
+}
@@ -0,0 +1,20 @@
+package com.mobabur94.datecalc.vector;
+
+import com.mobabur94.datecalc.engine.Period;
+
+// the reference the vector kernel has to match, and what runs wherever it can not
+final class ScalarKernel {
+
+    private ScalarKernel() { }
+
+    static void between(int[] startDays, int[] endDays, int[] years, int[] months, int[] days, int[] totalDays, int from, int to) {
+        for (int i = from; i < to; i++) {
+            long period = Period.between(startDays[i], endDays[i]);
+            years[i] = Period.years(period);
+            months[i] = Period.months(period);
+            days[i] = Period.days(period);
+            totalDays[i] = Math.abs(endDays[i] - startDays[i]);
+        }
+    }
+
+}
@@ -0,0 +1,151 @@
+package com.mobabur94.datecalc.vector;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+// the same math as EpochDays and Period, one vector of pairs at a time
+//
+// there is no vector integer division, so every division is a float multiply by the reciprocal, which is off by at most
+// one while the dividend fits in a float's 24 bits, and then corrected with exact integer products; that holds for days
+// from 0000-03-01 up to around the year 45000, and any vector with a day outside of that is done by the scalar kernel
+//
+// the work is split into passes over the columns that are each small enough for the jit to inline everything in them,
+// vectors passed between methods that are not inlined end up as objects on the heap and that is slower than the scalar
+// kernel
+final class VectorKernel {
+
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Float> FLOATS = FloatVector.SPECIES_PREFERRED;
+
+    // days from 0000-03-01 to 1970-01-01, the same shift EpochDays uses
+    private static final int SHIFT = 719468;
+    private static final int MIN_DAY = -SHIFT;
+    private static final int MAX_DAY = (1 << 24) - 1 - SHIFT;
+
+    private VectorKernel() { }
+
+    // returns how many pairs from the start were done, the rest is less than one vector
+    static int between(int[] startDays, int[] endDays, int[] years, int[] months, int[] days, int[] totalDays) {
+        int bound = INTS.loopBound(startDays.length);
+
+        // the fields of the earlier dates go in the days column and the later ones in the total days column for now
+        fields(startDays, endDays, false, days, bound);
+        fields(startDays, endDays, true, totalDays, bound);
+        wholeMonths(days, totalDays, years, months, bound);
+        leftoverDays(days, totalDays, bound);
+
+        // last the total days, and redo anything out of range with the scalar kernel
+        for (int i = 0; i < bound; i += INTS.length()) {
+            IntVector first = IntVector.fromArray(INTS, startDays, i);
+            IntVector second = IntVector.fromArray(INTS, endDays, i);
+            IntVector start = first.min(second);
+            IntVector end = first.max(second);
+            if (start.compare(VectorOperators.LT, MIN_DAY).or(end.compare(VectorOperators.GT, MAX_DAY)).anyTrue()) {
+                ScalarKernel.between(startDays, endDays, years, months, days, totalDays, i, i + INTS.length());
+            } else {
+                end.sub(start).intoArray(totalDays, i);
+            }
+        }
+        return bound;
+    }
+
+    // year, month and day of the month of the earlier or later date of each pair, packed as year << 9 | month << 5 | day
+    // and only right for days in range
+    private static void fields(int[] startDays, int[] endDays, boolean later, int[] packed, int bound) {
+        eras(startDays, endDays, later, packed, bound);
+        yearsOfEra(packed, bound);
+        monthsOfYear(packed, bound);
+    }
+
+    // era << 18 | day of the era, in 400 year eras from 0000-03-01
+    private static void eras(int[] startDays, int[] endDays, boolean later, int[] packed, int bound) {
+        for (int i = 0; i < bound; i += INTS.length()) {
+            IntVector first = IntVector.fromArray(INTS, startDays, i);
+            IntVector second = IntVector.fromArray(INTS, endDays, i);
+            IntVector shifted = ((later) ? first.max(second) : first.min(second)).add(SHIFT).max(0).min((1 << 24) - 1);
+            IntVector era = divide(shifted, 146097);
+            era.lanewise(VectorOperators.LSHL, 18).or(shifted.sub(era.mul(146097))).intoArray(packed, i);
+        }
+    }
+
+    // year << 9 | day of the year, in years from march
+    private static void yearsOfEra(int[] packed, int bound) {
+        for (int i = 0; i < bound; i += INTS.length()) {
+            IntVector eraAndDay = IntVector.fromArray(INTS, packed, i);
+            IntVector dayOfEra = eraAndDay.and((1 << 18) - 1);
+            IntVector yearOfEra = divide(dayOfEra.sub(divide(dayOfEra, 1460)).add(divide(dayOfEra, 36524)).sub(divide(dayOfEra, 146096)), 365);
+            IntVector dayOfYear = dayOfEra.sub(yearOfEra.mul(365).add(yearOfEra.lanewise(VectorOperators.LSHR, 2)).sub(divide(yearOfEra, 100)));
+            IntVector year = eraAndDay.lanewise(VectorOperators.LSHR, 18).mul(400).add(yearOfEra);
+            year.lanewise(VectorOperators.LSHL, 9).or(dayOfYear).intoArray(packed, i);
+        }
+    }
+
+    // year << 9 | month << 5 | day of the month
+    private static void monthsOfYear(int[] packed, int bound) {
+        for (int i = 0; i < bound; i += INTS.length()) {
+            IntVector yearAndDay = IntVector.fromArray(INTS, packed, i);
+            IntVector dayOfYear = yearAndDay.and(511);
+            IntVector marchMonth = divide(dayOfYear.mul(5).add(2), 153);
+            IntVector day = dayOfYear.sub(divide(marchMonth.mul(153).add(2), 5)).add(1);
+
+            // january and february belong to the next year
+            VectorMask<Integer> nextYear = marchMonth.compare(VectorOperators.GE, 10);
+            IntVector month = marchMonth.add(3).blend(marchMonth.sub(9), nextYear);
+            IntVector year = yearAndDay.lanewise(VectorOperators.LSHR, 9).add(1, nextYear);
+            year.lanewise(VectorOperators.LSHL, 9).or(month.lanewise(VectorOperators.LSHL, 5)).or(day).intoArray(packed, i);
+        }
+    }
+
+    // whole months between the dates, one less if the end's day of the month has not reached the start's
+    private static void wholeMonths(int[] startFields, int[] endFields, int[] years, int[] months, int bound) {
+        for (int i = 0; i < bound; i += INTS.length()) {
+            IntVector start = IntVector.fromArray(INTS, startFields, i);
+            IntVector end = IntVector.fromArray(INTS, endFields, i);
+            VectorMask<Integer> borrow = end.and(31).compare(VectorOperators.LT, start.and(31));
+            IntVector totalMonths = end.lanewise(VectorOperators.LSHR, 9).sub(start.lanewise(VectorOperators.LSHR, 9)).mul(12)
+                    .add(end.lanewise(VectorOperators.LSHR, 5).and(15)).sub(start.lanewise(VectorOperators.LSHR, 5).and(15)).sub(1, borrow);
+            IntVector wholeYears = divide(totalMonths, 12);
+            wholeYears.intoArray(years, i);
+            totalMonths.sub(wholeYears.mul(12)).intoArray(months, i);
+        }
+    }
+
+    // days left over after the whole months, written over the start's fields
+    //
+    // with a borrow the months end in the month before the end, on the start's day clamped to that month
+    private static void leftoverDays(int[] startFields, int[] endFields, int bound) {
+        for (int i = 0; i < bound; i += INTS.length()) {
+            IntVector end = IntVector.fromArray(INTS, endFields, i);
+            IntVector day1 = IntVector.fromArray(INTS, startFields, i).and(31);
+            IntVector day2 = end.and(31);
+            IntVector month2 = end.lanewise(VectorOperators.LSHR, 5).and(15);
+
+            VectorMask<Integer> january = month2.compare(VectorOperators.EQ, 1);
+            IntVector previousMonth = month2.sub(1).blend(12, january);
+            IntVector previousYear = end.lanewise(VectorOperators.LSHR, 9).sub(1, january);
+            IntVector centuries = divide(previousYear, 100);
+            VectorMask<Integer> leap = previousYear.and(3).compare(VectorOperators.EQ, 0)
+                    .and(previousYear.compare(VectorOperators.NE, centuries.mul(100)).or(centuries.and(3).compare(VectorOperators.EQ, 0)));
+            IntVector previousLength = previousMonth.add(previousMonth.lanewise(VectorOperators.LSHR, 3)).and(1).add(30)
+                    .blend(IntVector.broadcast(INTS, 28).add(1, leap), previousMonth.compare(VectorOperators.EQ, 2));
+            day2.sub(day1).blend(previousLength.sub(day1.min(previousLength)).add(day2), day2.compare(VectorOperators.LT, day1)).intoArray(startFields, i);
+        }
+    }
+
+    // exact x / divisor for 0 <= x < 2^24
+    private static IntVector divide(IntVector x, int divisor) {
+        FloatVector dividend = (FloatVector) x.convertShape(VectorOperators.I2F, FLOATS, 0);
+
+        // float to int is not a vector instruction on jdk 17, but adding 2^23 rounds a float below that to an integer
+        // and leaves it in the low bits, all of the quotients here are below it since the smallest divisor is 5
+        IntVector quotient = dividend.mul(1.0f / divisor).add(0x1p23f).reinterpretAsInts().and(0x7FFFFF);
+
+        // the float quotient can be one off either way
+        quotient = quotient.sub(1, quotient.mul(divisor).compare(VectorOperators.GT, x));
+        return quotient.add(1, quotient.add(1).mul(divisor).compare(VectorOperators.LE, x));
+    }
+
+}
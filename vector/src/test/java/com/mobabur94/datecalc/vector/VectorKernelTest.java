@@ -0,0 +1,102 @@
+package com.mobabur94.datecalc.vector;
+
+import com.mobabur94.datecalc.engine.EpochDays;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
+
+// the vector kernel against the scalar one it has to match, inside its range, at its edges and past them
+public class VectorKernelTest {
+
+    // days from 0000-03-01 to 1970-01-01 and the last day whose shifted value fits in a float's 24 bits
+    private static final int MIN_DAY = -719468;
+    private static final int MAX_DAY = (1 << 24) - 1 - 719468;
+
+    @Test
+    public void moduleIsThere() {
+        assertTrue(PeriodColumns.isVectorized());
+    }
+
+    @Test
+    public void matchesScalarInRange() {
+        Random random = new Random(20);
+        int[] startDays = new int[100003];
+        int[] endDays = new int[startDays.length];
+        for (int i = 0; i < startDays.length; i++) {
+            startDays[i] = MIN_DAY + random.nextInt(MAX_DAY - MIN_DAY + 1);
+            endDays[i] = (random.nextBoolean()) ? startDays[i] + random.nextInt(4000) - 2000 : MIN_DAY + random.nextInt(MAX_DAY - MIN_DAY + 1);
+            endDays[i] = Math.max(MIN_DAY, Math.min(MAX_DAY, endDays[i]));
+        }
+        assertMatchesScalar(startDays, endDays);
+    }
+
+    @Test
+    public void matchesScalarAroundMonthEnds() {
+        // every pair of days in and around a leap year, where the month and day borrowing happens
+        int first = EpochDays.of(1999, 12, 1);
+        int last = EpochDays.of(2001, 1, 31);
+        int count = last - first + 1;
+        int[] startDays = new int[count * count];
+        int[] endDays = new int[startDays.length];
+        for (int i = 0; i < count; i++) {
+            for (int j = 0; j < count; j++) {
+                startDays[i * count + j] = first + i;
+                endDays[i * count + j] = first + j;
+            }
+        }
+        assertMatchesScalar(startDays, endDays);
+    }
+
+    @Test
+    public void matchesScalarAtAndPastTheEdges() {
+        // vectors that mix days inside the range with days just past either end, which have to go to the scalar kernel
+        int[] edges = {MIN_DAY - 2, MIN_DAY - 1, MIN_DAY, MIN_DAY + 1, MIN_DAY + 59, MIN_DAY + 60, MAX_DAY - 1, MAX_DAY,
+                MAX_DAY + 1, MAX_DAY + 366, -20000000, 20000000, 0};
+        int[] startDays = new int[edges.length * edges.length * 3];
+        int[] endDays = new int[startDays.length];
+        int n = 0;
+        for (int start : edges) {
+            for (int end : edges) {
+                for (int k = 0; k < 3; k++) {
+                    startDays[n] = start;
+                    endDays[n++] = end + k;
+                }
+            }
+        }
+        assertMatchesScalar(startDays, endDays);
+    }
+
+    private static void assertMatchesScalar(int[] startDays, int[] endDays) {
+        int length = startDays.length;
+        int[] years = new int[length];
+        int[] months = new int[length];
+        int[] days = new int[length];
+        int[] totalDays = new int[length];
+        int done = VectorKernel.between(startDays, endDays, years, months, days, totalDays);
+
+        int[] expectedYears = new int[length];
+        int[] expectedMonths = new int[length];
+        int[] expectedDays = new int[length];
+        int[] expectedTotalDays = new int[length];
+        ScalarKernel.between(startDays, endDays, expectedYears, expectedMonths, expectedDays, expectedTotalDays, 0, done);
+
+        assertArrayEquals(Arrays.copyOf(expectedYears, done), Arrays.copyOf(years, done));
+        assertArrayEquals(Arrays.copyOf(expectedMonths, done), Arrays.copyOf(months, done));
+        assertArrayEquals(Arrays.copyOf(expectedDays, done), Arrays.copyOf(days, done));
+        assertArrayEquals(Arrays.copyOf(expectedTotalDays, done), Arrays.copyOf(totalDays, done));
+
+        // and the columns as a whole, with the tail that is less than a vector
+        ScalarKernel.between(startDays, endDays, expectedYears, expectedMonths, expectedDays, expectedTotalDays, done, length);
+        PeriodColumns.between(startDays, endDays, years, months, days, totalDays);
+        assertArrayEquals(expectedYears, years);
+        assertArrayEquals(expectedMonths, months);
+        assertArrayEquals(expectedDays, days);
+        assertArrayEquals(expectedTotalDays, totalDays);
+    }
+
+}